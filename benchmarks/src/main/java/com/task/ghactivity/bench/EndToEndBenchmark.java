@@ -0,0 +1,68 @@
+package com.task.ghactivity.bench;
+
+import com.task.ghactivity.GhCliRunner;
+import com.task.ghactivity.stub.GitHubStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One whole invocation, {@code gh-activity bench --limit N}, against a
+ * {@link GitHubStub} on loopback serving GitHub's three 100-event pages, with
+ * and without per-response latency. Covers argument parsing, the HTTP round
+ * trips, parsing and rendering to a discarded stdout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    @Param({"30", "100", "300"})
+    public int limit;
+
+    /** Delay the stub adds before each response. */
+    @Param({"0", "50"})
+    public int latencyMs;
+
+    private GitHubStub stub;
+    private final GhCliRunner runner = new GhCliRunner();
+    private final PrintStream discard = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+    private String[] args;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        stub = new GitHubStub(0).latency(Duration.ofMillis(latencyMs));
+        args = new String[]{"bench", "--limit", String.valueOf(limit), "--api-url", stub.url(), "--no-cache", "--no-color"};
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        stub.close();
+    }
+
+    @Benchmark
+    public int run() throws InterruptedException {
+        return runner.execute(args, InputStream.nullInputStream(), discard, discard);
+    }
+}
@@ -0,0 +1,68 @@
+package com.task.ghactivity.bench;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.ghactivity.event.EventReader;
+import com.task.ghactivity.stub.GitHubStub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding one page of events: {@code readTree} (what the CLI originally did)
+ * versus the streaming {@link EventReader}, for pages of several sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"1", "30", "100"})
+    public int events;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[] page;
+
+    @Setup
+    public void setup() {
+        page = GitHubStub.syntheticEvents(0, events);
+    }
+
+    @Benchmark
+    public void readTree(Blackhole bh) throws IOException {
+        JsonNode root = mapper.readTree(page);
+        for (JsonNode ev : root) {
+            bh.consume(ev.path("type").asText());
+            bh.consume(ev.path("repo").path("name").asText());
+        }
+    }
+
+    @Benchmark
+    public void streaming(Blackhole bh) throws IOException {
+        EventReader reader = new EventReader();
+        try (JsonParser p = mapper.getFactory().createParser(page)) {
+            if (p.nextToken() == JsonToken.START_ARRAY) {
+                while (p.nextToken() == JsonToken.START_OBJECT) {
+                    bh.consume(reader.read(p));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.task.ghactivity.bench;
+
+import com.task.ghactivity.event.GhEvent;
+import com.task.ghactivity.render.EventRenderer;
+import com.task.ghactivity.render.SwitchLineRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering one event per type, with and without color: the registry-based
+ * {@link EventRenderer} writing to a stream (the CLI's path) and returning a
+ * String. Two baselines return the same String: {@link SwitchLineRenderer}
+ * differs from {@code describe} only in dispatch (a switch over the sealed
+ * records), {@link SwitchRenderer} also in building the line by concatenation.
+ * Run with {@code -prof gc}: {@code println} should report ~0 B/op in
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    private static final String TS = "2024-05-01T12:34:56Z";
+
+    private static final Map<String, GhEvent> SAMPLES = Map.ofEntries(
+            Map.entry("PushEvent", new GhEvent.PushEvent("1", "octo/repo", TS, 3)),
+            Map.entry("IssuesEvent", new GhEvent.IssuesEvent("1", "octo/repo", TS, "opened", "42")),
+            Map.entry("IssueCommentEvent", new GhEvent.IssueCommentEvent("1", "octo/repo", TS, "created", "42")),
+            Map.entry("PullRequestEvent", new GhEvent.PullRequestEvent("1", "octo/repo", TS, "closed", "7", true)),
+            Map.entry("PullRequestReviewEvent", new GhEvent.PullRequestReviewEvent("1", "octo/repo", TS, "approved", "7")),
+            Map.entry("PullRequestReviewCommentEvent", new GhEvent.PullRequestReviewCommentEvent("1", "octo/repo", TS, "7")),
+            Map.entry("WatchEvent", new GhEvent.WatchEvent("1", "octo/repo", TS)),
+            Map.entry("CreateEvent", new GhEvent.CreateEvent("1", "octo/repo", TS, "branch", "feature/x")),
+            Map.entry("DeleteEvent", new GhEvent.DeleteEvent("1", "octo/repo", TS, "branch", "feature/x")),
+            Map.entry("ForkEvent", new GhEvent.ForkEvent("1", "octo/repo", TS, "me/repo")),
+            Map.entry("ReleaseEvent", new GhEvent.ReleaseEvent("1", "octo/repo", TS, "published", "v1.2.0")),
+            Map.entry("PublicEvent", new GhEvent.PublicEvent("1", "octo/repo", TS)),
+            Map.entry("MemberEvent", new GhEvent.MemberEvent("1", "octo/repo", TS, "added", "hubot")),
+            Map.entry("GollumEvent", new GhEvent.GollumEvent("1", "octo/repo", TS)),
+            Map.entry("CommitCommentEvent", new GhEvent.CommitCommentEvent("1", "octo/repo", TS)),
+            Map.entry("OtherEvent", new GhEvent.OtherEvent("1", "SponsorshipEvent", "octo/repo", TS, Map.of("action", "created"))));
+
+    @Param({"PushEvent", "IssuesEvent", "IssueCommentEvent", "PullRequestEvent", "PullRequestReviewEvent",
+            "PullRequestReviewCommentEvent", "WatchEvent", "CreateEvent", "DeleteEvent", "ForkEvent",
+            "ReleaseEvent", "PublicEvent", "MemberEvent", "GollumEvent", "CommitCommentEvent", "OtherEvent"})
+    public String type;
+
+    @Param({"false", "true"})
+    public boolean color;
+
+    private GhEvent event;
+    private EventRenderer renderer;
+    private SwitchLineRenderer switchRenderer;
+    private PrintStream out;
+
+    @Setup
+    public void setup() {
+        event = SAMPLES.get(type);
+        renderer = new EventRenderer(color);
+        switchRenderer = new SwitchLineRenderer(color);
+        if (!renderer.describe(event).equals(switchRenderer.describe(event))) {
+            throw new IllegalStateException("switch dispatch renders " + type + " differently");
+        }
+        out = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void println() {
+        renderer.println(event, out);
+    }
+
+    @Benchmark
+    public String describe() {
+        return renderer.describe(event);
+    }
+
+    @Benchmark
+    public String switchDispatch() {
+        return switchRenderer.describe(event);
+    }
+
+    @Benchmark
+    public String concatSwitch() {
+        return SwitchRenderer.describe(event, color);
+    }
+}
@@ -0,0 +1,133 @@
+package com.task.ghactivity.bench;
+
+import com.task.ghactivity.event.GhEvent;
+import com.task.ghactivity.util.Ansi;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Baseline for {@link RenderBenchmark}: the string-concatenating switch that
+ * rendered events before the formatter registry, ported from the old JsonNode
+ * version to {@link GhEvent}. It differs from {@code EventRenderer} in both
+ * dispatch and output strategy; {@code SwitchLineRenderer} isolates dispatch.
+ */
+final class SwitchRenderer {
+
+    private static final DateTimeFormatter TS_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm 'UTC'").withZone(ZoneOffset.UTC);
+
+    private SwitchRenderer() {}
+
+    static String describe(GhEvent ev, boolean useColor) {
+        String repo = ev.repo();
+        String created = formatTs(ev.createdAt());
+
+        switch (ev) {
+            case GhEvent.PushEvent e -> {
+                int commits = e.commits();
+                return "- Pushed " + color(String.valueOf(commits), Ansi.CYAN, useColor)
+                        + " commit" + (commits == 1 ? "" : "s") + " to "
+                        + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.IssuesEvent e -> {
+                String action = or(e.action(), "acted on");
+                return "- " + cap(action) + " issue " + color(num(e.number()), Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.IssueCommentEvent e -> {
+                String action = or(e.action(), "commented");
+                return "- " + cap(action) + " on issue " + color(num(e.number()), Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.PullRequestEvent e -> {
+                String action = or(e.action(), "acted on");
+                if (e.merged() && "closed".equals(action)) action = "merged";
+                return "- " + cap(action) + " pull request " + color(num(e.number()), Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.PullRequestReviewEvent e -> {
+                String action = or(e.action(), "reviewed");
+                return "- " + cap(action) + " PR " + color(num(e.number()), Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.PullRequestReviewCommentEvent e -> {
+                return "- Commented on PR " + color(num(e.number()), Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.WatchEvent e -> {
+                return "- Starred " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.CreateEvent e -> {
+                String refType = or(e.refType(), "thing");
+                String ref = or(e.ref(), repo);
+                return "- Created " + color(refType, Ansi.GREEN, useColor) + " "
+                        + color(ref, Ansi.BOLD, useColor) + " in " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.DeleteEvent e -> {
+                String refType = or(e.refType(), "thing");
+                String ref = or(e.ref(), "");
+                String target = (refType + " " + ref).trim();
+                return "- Deleted " + color(target, Ansi.YELLOW, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.ForkEvent e -> {
+                String forkee = or(e.forkee(), "a fork");
+                return "- Forked " + color(repo, Ansi.BOLD, useColor) + " to "
+                        + color(forkee, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.ReleaseEvent e -> {
+                String action = or(e.action(), "published");
+                String tag = or(e.tag(), "a release");
+                return "- " + cap(action) + " " + color(tag, Ansi.CYAN, useColor) + " in "
+                        + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.PublicEvent e -> {
+                return "- Open-sourced " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.MemberEvent e -> {
+                String action = or(e.action(), "changed");
+                String member = or(e.member(), "a member");
+                return "- " + cap(action) + " collaborator " + color(member, Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.GollumEvent e -> {
+                return "- Updated wiki in " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.CommitCommentEvent e -> {
+                return "- Commented on a commit in " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case GhEvent.OtherEvent e -> {
+                return "- " + e.type() + " in " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+        }
+    }
+
+    private static String formatTs(String ts) {
+        if (ts.isEmpty()) return ts;
+        try { return TS_FMT.format(Instant.parse(ts)); } catch (Exception e) { return ts; }
+    }
+
+    private static String num(String number) {
+        return number != null ? "#" + number : "#?";
+    }
+
+    private static String or(String value, String fallback) {
+        return value != null ? value : fallback;
+    }
+
+    private static String color(String s, String ansi, boolean useColor) {
+        return useColor ? (ansi + s + Ansi.RESET) : s;
+    }
+
+    private static String cap(String s) {
+        if (s == null || s.isEmpty()) return s;
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+}
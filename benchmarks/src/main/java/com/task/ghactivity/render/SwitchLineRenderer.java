@@ -0,0 +1,76 @@
+package com.task.ghactivity.render;
+
+import com.task.ghactivity.event.GhEvent;
+import com.task.ghactivity.util.Ansi;
+
+/**
+ * Dispatch baseline for {@code RenderBenchmark}: the built-in lines written into
+ * the same {@link Line} and {@link StringBuilder} as {@link EventRenderer}, but
+ * picked by a {@code switch} over the sealed {@link GhEvent} records instead of
+ * the formatter registry. The output is the same, so comparing {@link #describe}
+ * with {@link EventRenderer#describe} measures the dispatch alone. Lives in this
+ * package for {@link Line}'s constructor.
+ */
+public final class SwitchLineRenderer {
+
+    private final StringBuilder sb = new StringBuilder(160);
+    private final Line line;
+
+    public SwitchLineRenderer(boolean useColor) {
+        this.line = new Line(sb, useColor);
+    }
+
+    public String describe(GhEvent ev) {
+        sb.setLength(0);
+        render(ev, line);
+        return sb.toString();
+    }
+
+    private static void render(GhEvent ev, Line l) {
+        switch (ev) {
+            case GhEvent.PushEvent e -> l
+                    .text("- Pushed ").colored(e.commits(), Ansi.CYAN)
+                    .text(e.commits() == 1 ? " commit" : " commits").text(" to ").bold(e.repo()).time(e);
+            case GhEvent.IssuesEvent e -> l
+                    .verb(or(e.action(), "acted on")).text(" issue ").number(e.number()).in(e);
+            case GhEvent.IssueCommentEvent e -> l
+                    .verb(or(e.action(), "commented")).text(" on issue ").number(e.number()).in(e);
+            case GhEvent.PullRequestEvent e -> l
+                    .verb(or(e.outcome(), "acted on")).text(" pull request ").number(e.number()).in(e);
+            case GhEvent.PullRequestReviewEvent e -> l
+                    .verb(or(e.action(), "reviewed")).text(" PR ").number(e.number()).in(e);
+            case GhEvent.PullRequestReviewCommentEvent e -> l
+                    .text("- Commented on PR ").number(e.number()).in(e);
+            case GhEvent.WatchEvent e -> l
+                    .text("- Starred ").bold(e.repo()).time(e);
+            case GhEvent.CreateEvent e -> l
+                    .text("- Created ").colored(or(e.refType(), "thing"), Ansi.GREEN).text(' ')
+                    .bold(or(e.ref(), e.repo())).in(e);
+            case GhEvent.DeleteEvent e -> {
+                String refType = or(e.refType(), "thing");
+                String ref = or(e.ref(), "");
+                l.text("- Deleted ").on(Ansi.YELLOW).text(refType);
+                if (!ref.isEmpty()) l.text(refType.isEmpty() ? "" : " ").text(ref);
+                l.off().in(e);
+            }
+            case GhEvent.ForkEvent e -> l
+                    .text("- Forked ").bold(e.repo()).text(" to ").bold(or(e.forkee(), "a fork")).time(e);
+            case GhEvent.ReleaseEvent e -> l
+                    .verb(or(e.action(), "published")).text(' ').colored(or(e.tag(), "a release"), Ansi.CYAN).in(e);
+            case GhEvent.PublicEvent e -> l
+                    .text("- Open-sourced ").bold(e.repo()).time(e);
+            case GhEvent.MemberEvent e -> l
+                    .verb(or(e.action(), "changed")).text(" collaborator ").colored(or(e.member(), "a member"), Ansi.CYAN).in(e);
+            case GhEvent.GollumEvent e -> l
+                    .text("- Updated wiki").in(e);
+            case GhEvent.CommitCommentEvent e -> l
+                    .text("- Commented on a commit").in(e);
+            case GhEvent.OtherEvent e -> l
+                    .text("- ").text(e.type()).in(e);
+        }
+    }
+
+    private static String or(String value, String fallback) {
+        return value != null ? value : fallback;
+    }
+}
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Builds a dynamic AppCDS archive for the Spring Boot jar.
+#
+#  1. extracts the Boot jar into target/extracted (CDS needs plain jars on the
+#     class path, not nested ones);
+#  2. does a training run of GhActivityApplication against GitHubStub
+#     (src/test/java), so the archive covers Spring startup *and* the
+#     fetch/parse/render path: a paged feed revalidated with 304s from a primed
+#     cache, the recorded octocat events, a 404, and 503s that get retried;
+#  3. writes target/extracted/github-activity.jsa, picked up by scripts/gh-activity.
+#
+# Run by the "cds" Maven profile (./mvnw -Pcds package) or by hand after package.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR="$(ls target/github-activity-*.jar | head -1)"
+EXTRACTED="target/extracted"
+ARCHIVE="$EXTRACTED/github-activity.jsa"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+PORT="${STUB_PORT:-$((18000 + RANDOM % 2000))}"
+
+rm -rf "$EXTRACTED"
+"$JAVA" -Djarmode=tools -jar "$JAR" extract --destination "$EXTRACTED" >/dev/null
+APP_JAR="$EXTRACTED/$(basename "$JAR")"
+
+# The stub needs Jackson, which the extracted layout has under lib/.
+CACHE="$(mktemp -d)"
+"$JAVA" -cp "target/test-classes:$EXTRACTED/lib/*" com.task.ghactivity.stub.GitHubStub --port "$PORT" \
+  --not-found ghost --server-errors 1:5 >/dev/null 2>&1 &
+STUB_PID=$!
+trap 'kill $STUB_PID 2>/dev/null || true; rm -rf "$CACHE"' EXIT
+for _ in $(seq 100); do
+  (exec 3<>"/dev/tcp/127.0.0.1/$PORT") 2>/dev/null && break
+  sleep 0.1
+done
+
+# Prime the cache, so the training run's pages come back as 304s.
+"$JAVA" -jar "$APP_JAR" someone --limit 300 --api-url "http://127.0.0.1:$PORT" --cache-dir "$CACHE" >/dev/null
+
+# Same flags as scripts/gh-activity, so the archived classes match what it loads.
+# ghost's 404 makes the batch exit 1.
+code=0
+"$JAVA" -XX:ArchiveClassesAtExit="$ARCHIVE" -Xlog:cds=warning -Dspring.aot.enabled=true \
+  -jar "$APP_JAR" someone octocat ghost --limit 300 --api-url "http://127.0.0.1:$PORT" --cache-dir "$CACHE" \
+  --no-color >/dev/null 2>&1 || code=$?
+[ "$code" -le 1 ] || { echo "CDS training run failed with exit code $code" >&2; exit 1; }
+
+echo "CDS archive: $ARCHIVE ($(du -h "$ARCHIVE" | cut -f1))"
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Smoke test for the CLI binary: runs it against GitHubStub (src/test/java) and
+# checks the rendered output and exit codes. The stub serves the recorded events
+# for octocat, a paged synthetic feed for anyone else and a 404 for ghost, and
+# answers the first of every 5 requests with a 503, so the runs go through
+# pagination, gzip, retries, 304s from the cache and --jfr. Run by the "native"
+# Maven profile against the native executable; any launcher command works, e.g.
+#
+#   scripts/native-smoke-test.sh --stub-classpath "$CP" target/github-activity
+#   scripts/native-smoke-test.sh --stub-classpath "$CP" java -cp "$CP" com.task.ghactivity.GhActivityCli
+#
+# where CP holds target/test-classes and the test class path
+# (./mvnw -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+STUB_CP="target/test-classes"
+if [ "${1:-}" = "--stub-classpath" ]; then
+  STUB_CP="$2"
+  shift 2
+fi
+[ $# -ge 1 ] || { echo "usage: $0 [--stub-classpath CP] <cli command...>" >&2; exit 64; }
+CLI=("$@")
+PORT="${STUB_PORT:-$((18000 + RANDOM % 2000))}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+WORK="$(mktemp -d)"
+
+"$JAVA" -cp "$STUB_CP" com.task.ghactivity.stub.GitHubStub --port "$PORT" \
+  --not-found ghost --server-errors 1:5 >/dev/null 2>&1 &
+STUB_PID=$!
+trap 'kill $STUB_PID 2>/dev/null || true; rm -rf "$WORK"' EXIT
+for _ in $(seq 100); do
+  (exec 3<>"/dev/tcp/127.0.0.1/$PORT") 2>/dev/null && break
+  sleep 0.1
+done
+
+fail() { echo "FAIL: $*" >&2; exit 1; }
+run() { "${CLI[@]}" "$@" --api-url "http://127.0.0.1:$PORT" --no-color; }
+
+expected='- Pushed 2 commits to octocat/Hello-World (2026-10-16 18:42 UTC)
+- Merged pull request #12 in octocat/Spoon-Knife (2026-10-16 16:05 UTC)
+- Opened issue #7 in octocat/Hello-World (2026-10-15 09:12 UTC)'
+actual="$(run octocat --no-cache --limit 3 --jfr "$WORK/run.jfr")" || fail "exit code $? for octocat"
+[ "$actual" = "$expected" ] || fail "unexpected output:
+$actual"
+[ -s "$WORK/run.jfr" ] || fail "--jfr wrote no recording"
+
+# Three pages, stored in the cache, then revalidated with 304s.
+lines="$(run someone --limit 300 --cache-dir "$WORK/cache" | wc -l)" || fail "exit code $? for the paged feed"
+[ "$lines" -eq 300 ] || fail "expected 300 events from the paged feed, got $lines"
+stats="$(run someone --limit 300 --cache-dir "$WORK/cache" --stats 2>&1 >/dev/null)" || fail "exit code $? for the cached feed"
+case "$stats" in
+  *not_modified=3*) ;;
+  *) fail "expected 3 pages revalidated from the cache: $stats" ;;
+esac
+
+set +e
+run ghost --no-cache --retries 0 >/dev/null 2>&1
+code=$?
+set -e
+[ "$code" -eq 1 ] || fail "expected exit 1 for an unknown user, got $code"
+
+echo "native smoke test passed"
@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Compares JVM startup of the Spring Boot entry point (default lazy/no-logging
+# boot, the previous eager boot with logback, and AOT mode) with the Spring-free
+# GhActivityCli launcher. Each run prints the usage text and exits (no network),
+# so the numbers are pure startup + teardown.
+#
+#   ./mvnw -q package && scripts/startup-bench.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-10}"
+JAR="$(ls target/github-activity-*.jar | head -1)"
+EXTRACTED="target/extracted"
+
+if [ ! -d "$EXTRACTED" ] || [ "$JAR" -nt "$EXTRACTED" ]; then
+  rm -rf "$EXTRACTED"
+  java -Djarmode=tools -jar "$JAR" extract --destination "$EXTRACTED" >/dev/null
+fi
+APP_JAR="$EXTRACTED/$(basename "$JAR")"
+
+LEGACY_BOOT="-Dspring.main.lazy-initialization=false -Dorg.springframework.boot.logging.LoggingSystem=org.springframework.boot.logging.logback.LogbackLoggingSystem"
+
+declare -A MODES=(
+  ["spring (java -jar)"]="java -jar $JAR"
+  ["spring (extracted)"]="java -jar $APP_JAR"
+  ["spring (extracted, eager + logback)"]="java $LEGACY_BOOT -jar $APP_JAR"
+  ["spring (extracted, AOT)"]="java -Dspring.aot.enabled=true -jar $APP_JAR"
+  ["lean (boot jar, PropertiesLauncher)"]="java -Dloader.main=com.task.ghactivity.GhActivityCli -cp $JAR org.springframework.boot.loader.launch.PropertiesLauncher"
+  ["lean (extracted)"]="java -cp $APP_JAR com.task.ghactivity.GhActivityCli"
+)
+
+# Written by scripts/build-cds.sh (./mvnw -Pcds package).
+ARCHIVE="$EXTRACTED/github-activity.jsa"
+if [ -f "$ARCHIVE" ]; then
+  MODES["spring (extracted + CDS)"]="java -XX:SharedArchiveFile=$ARCHIVE -jar $APP_JAR"
+  MODES["lean (extracted + CDS)"]="java -XX:SharedArchiveFile=$ARCHIVE -cp $APP_JAR com.task.ghactivity.GhActivityCli"
+fi
+
+if command -v hyperfine >/dev/null; then
+  args=()
+  for name in "${!MODES[@]}"; do args+=(-n "$name" "${MODES[$name]}"); done
+  # -N runs the commands without a shell; usage exits 64, which -i accepts.
+  hyperfine -N -i --warmup 2 --runs "$RUNS" "${args[@]}"
+  exit 0
+fi
+
+for name in "${!MODES[@]}"; do
+  cmd="${MODES[$name]}"
+  $cmd >/dev/null 2>&1 || true # warm the page cache
+  start=$(date +%s%N)
+  for _ in $(seq "$RUNS"); do $cmd >/dev/null 2>&1 || true; done
+  end=$(date +%s%N)
+  printf '%-40s %6d ms/run\n' "$name" $(( (end - start) / RUNS / 1000000 ))
+done
@@ -1,14 +1,37 @@
 package com.task.ghactivity;
 
+import com.task.ghactivity.jfr.FlightRecording;
+import com.task.ghactivity.stats.Startup;
 import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.metrics.jfr.FlightRecorderApplicationStartup;
 
 @SpringBootApplication
 public class GhActivityApplication {
+
+    /** SLF4J 2 provider that discards everything; selected via {@code slf4j.provider}. */
+    private static final String NOP_SLF4J_PROVIDER = "org.slf4j.helpers.NOP_FallbackServiceProvider";
+
     public static void main(String[] args) {
+        Startup.markMain(true);
+        // Before anything else, so --jfr sees the whole startup.
+        boolean recording = FlightRecording.startAtLaunch(args);
+        // A CLI run has nothing worth logging: skip logging-system setup entirely
+        // (and keep Spring's startup lines off stdout). Pass
+        // -Dorg.springframework.boot.logging.LoggingSystem=... to get logs back.
+        if (System.getProperty(LoggingSystem.SYSTEM_PROPERTY) == null) {
+            System.setProperty(LoggingSystem.SYSTEM_PROPERTY, LoggingSystem.NONE);
+            System.setProperty("slf4j.provider", NOP_SLF4J_PROVIDER);
+            System.setProperty("slf4j.internal.verbosity", "WARN"); // no "loading provider" notice
+        }
         SpringApplication app = new SpringApplication(GhActivityApplication.class);
         app.setBannerMode(Banner.Mode.OFF); // CLI vibe
+        app.setLazyInitialization(true); // only GhCliRunner is ever needed
+        if (recording) {
+            app.setApplicationStartup(new FlightRecorderApplicationStartup()); // startup steps as JFR events
+        }
         app.run(args);
     }
 }
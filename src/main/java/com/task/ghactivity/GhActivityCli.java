@@ -0,0 +1,29 @@
+package com.task.ghactivity;
+
+import com.task.ghactivity.jfr.FlightRecording;
+import com.task.ghactivity.stats.Startup;
+
+/**
+ * Spring-free entry point: runs {@link GhCliRunner} directly, skipping context
+ * refresh, auto-configuration and logging setup. Same arguments and output as
+ * {@link GhActivityApplication}.
+ *
+ * <pre>
+ *   java -cp target/extracted/github-activity-*.jar com.task.ghactivity.GhActivityCli octocat
+ *   java -Dloader.main=com.task.ghactivity.GhActivityCli -cp github-activity.jar \
+ *        org.springframework.boot.loader.launch.PropertiesLauncher octocat
+ * </pre>
+ * The first runs on the Boot jar's extracted layout ({@code -Djarmode=tools extract});
+ * the second on the Boot jar itself, whose classes sit under {@code BOOT-INF/classes}.
+ * {@code scripts/gh-activity} wraps the first.
+ */
+public final class GhActivityCli {
+
+    private GhActivityCli() {}
+
+    public static void main(String[] args) throws Exception {
+        Startup.markMain(false);
+        FlightRecording.startAtLaunch(args);
+        new GhCliRunner().run(args);
+    }
+}
@@ -0,0 +1,124 @@
+package com.task.ghactivity;
+
+import com.task.ghactivity.daemon.DaemonProtocol;
+import com.task.ghactivity.http.HttpCache;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Thin client for a resident {@code --daemon}: forwards the arguments over the
+ * daemon's Unix domain socket and copies the streamed output back, so a run
+ * costs only this class's startup. Without a daemon (or for {@code --daemon}
+ * itself) it falls back to {@link GhActivityCli} in-process.
+ *
+ * <pre>
+ *   java -jar github-activity.jar --daemon &amp;
+ *   java -cp target/extracted/github-activity-*.jar com.task.ghactivity.GhActivityClient octocat
+ * </pre>
+ * (on the extracted layout, as in {@link GhActivityCli}; or
+ * {@code GH_ACTIVITY_MAIN=com.task.ghactivity.GhActivityClient scripts/gh-activity octocat}).
+ * {@code GITHUB_TOKEN} and {@code GITHUB_API_URL} are read here and forwarded,
+ * as are whether to color (stdout is a terminal and {@code NO_COLOR} unset) and
+ * the cache directory ({@code XDG_CACHE_HOME}); path options are made absolute,
+ * so the daemon's own environment and working directory never show. A socket
+ * not private to the current user is ignored with a warning, the token unsent.
+ */
+public final class GhActivityClient {
+
+    /** Options whose value is a file or directory the daemon opens. */
+    private static final Set<String> PATH_OPTIONS = Set.of("--users-file", "--cache-dir", "--jfr");
+
+    private GhActivityClient() {}
+
+    public static void main(String[] args) throws Exception {
+        Path socket = DaemonProtocol.defaultSocket();
+        List<String> forwarded = new ArrayList<>();
+        // Environment first, so explicit arguments still win.
+        String token = System.getenv("GITHUB_TOKEN");
+        if (token != null && !token.isBlank()) forwarded.addAll(List.of("--token", token));
+        String apiUrl = System.getenv("GITHUB_API_URL");
+        if (apiUrl != null && !apiUrl.isBlank()) forwarded.addAll(List.of("--api-url", apiUrl));
+        forwarded.add(System.console() != null && System.getenv("NO_COLOR") == null ? "--color" : "--no-color");
+        forwarded.addAll(List.of("--cache-dir", HttpCache.defaultDir().toAbsolutePath().toString()));
+        boolean readStdin = false;
+        for (int i = 0; i < args.length; i++) {
+            if ("--daemon".equals(args[i])) {
+                GhActivityCli.main(args);
+                return;
+            } else if ("--socket".equals(args[i]) && i + 1 < args.length) {
+                socket = Path.of(args[++i]);
+                continue;
+            } else if ("--users-file".equals(args[i]) && i + 1 < args.length && "-".equals(args[i + 1])) {
+                readStdin = true;
+            } else if (PATH_OPTIONS.contains(args[i]) && i + 1 < args.length && !"-".equals(args[i + 1])) {
+                // The daemon has its own working directory; resolve paths against ours.
+                forwarded.addAll(List.of(args[i], Path.of(args[++i]).toAbsolutePath().toString()));
+                continue;
+            }
+            forwarded.add(args[i]);
+        }
+
+        // The token is forwarded: only talk to a socket nobody else can have put there.
+        try {
+            DaemonProtocol.requirePrivate(socket);
+        } catch (NoSuchFileException e) {
+            GhActivityCli.main(forwarded.toArray(String[]::new));
+            return;
+        } catch (IOException e) {
+            System.err.println("Warning: not using the daemon: " + e.getMessage());
+            GhActivityCli.main(forwarded.toArray(String[]::new));
+            return;
+        }
+        SocketChannel ch;
+        try {
+            ch = SocketChannel.open(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            GhActivityCli.main(forwarded.toArray(String[]::new));
+            return;
+        }
+        int code;
+        try (ch) {
+            DaemonProtocol.writeRequest(new DataOutputStream(Channels.newOutputStream(ch)),
+                    forwarded.toArray(String[]::new), readStdin ? System.in.readAllBytes() : new byte[0]);
+            code = copyReply(new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch))));
+        } catch (EOFException e) {
+            System.err.println("Error: the daemon closed the connection.");
+            code = 69; // EX_UNAVAILABLE
+        }
+        System.exit(code);
+    }
+
+    private static int copyReply(DataInputStream in) throws IOException {
+        while (true) {
+            byte kind = in.readByte();
+            byte[] data = in.readNBytes(in.readInt());
+            switch (kind) {
+                case DaemonProtocol.STDOUT -> {
+                    System.out.write(data);
+                    System.out.flush();
+                }
+                case DaemonProtocol.STDERR -> {
+                    System.err.write(data);
+                    System.err.flush();
+                }
+                case DaemonProtocol.EXIT -> {
+                    return ByteBuffer.wrap(data).getInt();
+                }
+                default -> throw new IOException("unknown frame " + kind);
+            }
+        }
+    }
+}
@@ -1,291 +1,1078 @@
 package com.task.ghactivity;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.task.ghactivity.daemon.DaemonProtocol;
+import com.task.ghactivity.daemon.DaemonServer;
+import com.task.ghactivity.event.EventReader;
+import com.task.ghactivity.event.GhEvent;
+import com.task.ghactivity.http.ConnectionGate;
+import com.task.ghactivity.http.ConnectionStats;
+import com.task.ghactivity.http.ContentDecoding;
+import com.task.ghactivity.http.HttpCache;
+import com.task.ghactivity.http.RateLimiter;
+import com.task.ghactivity.http.ReadTimeout;
+import com.task.ghactivity.http.RetryPolicy;
+import com.task.ghactivity.http.TransferStats;
+import com.task.ghactivity.jfr.FetchEvent;
+import com.task.ghactivity.jfr.FlightRecording;
+import com.task.ghactivity.jfr.ParseEvent;
+import com.task.ghactivity.jfr.RenderEvent;
+import com.task.ghactivity.render.ActivitySummary;
+import com.task.ghactivity.render.EventRenderer;
+import com.task.ghactivity.stats.Metrics;
+import com.task.ghactivity.stats.MetricsServer;
+import com.task.ghactivity.stats.RunStats;
+import com.task.ghactivity.stats.Startup;
 import com.task.ghactivity.util.Ansi;
+import com.task.ghactivity.util.BatchedOutput;
+import com.task.ghactivity.util.Deadline;
+import com.task.ghactivity.util.LinkHeader;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component
 public class GhCliRunner implements CommandLineRunner {
 
-    private static final String API = "https://api.github.com/users/%s/events?per_page=100";
-    private static final DateTimeFormatter TS_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm 'UTC'").withZone(ZoneOffset.UTC);
-    private final ObjectMapper mapper = new ObjectMapper();
-    private final HttpClient http = HttpClient.newBuilder().build();
+    private static final int PER_PAGE = 100;
+    /** GitHub serves at most this many events (3 pages) per user. */
+    private static final int MAX_EVENTS = 300;
+    /** Default API root; {@code --api-url} or {@code GITHUB_API_URL} point the CLI at GHES or a stub. */
+    private static final String DEFAULT_API = "https://api.github.com";
+    private static final String EVENTS_PATH = "/users/%s/events?per_page=" + PER_PAGE;
+    /** {@link #EVENTS_PATH} as a metrics label. */
+    private static final String EVENTS_ENDPOINT = "/users/{user}/events";
+    /** Streaming only: databind (ObjectMapper) costs ~0.5 s of class init at launch. */
+    private final JsonFactory json = new JsonFactory();
+    /** Used until GitHub tells us its X-Poll-Interval. */
+    private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofSeconds(60);
+    /** Event ids remembered by --watch; far more than one page, so nothing is re-printed. */
+    private static final int WATCH_SEEN_IDS = 1000;
+    /** {@code --timeout} default; also the daemon's connect timeout. */
+    private static final int DEFAULT_TIMEOUT_SEC = 15;
+    /** Rate-limit retries per request before the 403/429 is reported. */
+    private static final int RATE_LIMIT_RETRIES = 3;
+
+    /** Quota per token, kept across runs of this instance. */
+    private final RateLimiter rateLimiter = new RateLimiter();
+
+    /** Histograms and counters of every run of this instance, for {@code --metrics-port}. */
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * Built by the first invocation once {@code --timeout} is known and kept for the
+     * life of this instance, so a daemon reuses pooled connections across invocations.
+     */
+    private HttpClient http;
+
+    /** Makes concurrent requests wait for {@link #http}'s first connection. */
+    private final ConnectionGate connectionGate = new ConnectionGate();
+
+    /** Runs {@link #http}'s internal tasks; shared by every request of this instance. */
+    private final ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Settings shared by every username of one invocation. {@code timeout} bounds
+     * connecting, each request's wait for response headers and any stall in a
+     * body; {@code deadline} bounds the whole run; {@code maxWait} bounds any
+     * single rate-limit wait.
+     * {@code retry} carries the run-wide retry budget, {@code transfer} the
+     * run-wide byte counters, {@code connections} the TLS sessions used and
+     * {@code stats} the timings for {@code --stats}. With {@code summary} the
+     * events are totalled instead of printed.
+     */
+    record Settings(String apiUrl, int limit, boolean summary, boolean useColor, String token, HttpCache cache,
+                    Duration timeout, Deadline deadline, Duration maxWait, RetryPolicy retry,
+                    TransferStats transfer, ConnectionStats connections, RunStats stats) {}
+
+    /**
+     * A 2xx/4xx/5xx response, or a 304 already swapped for the cached body.
+     * {@code wire} times the network reads under {@code body}; null for cached bodies.
+     */
+    private record Response(int status, String link, InputStream body, boolean notModified, Duration pollInterval,
+                            RunStats.Body wire) {
+        long bodyWaitNanos() {
+            return wire != null ? wire.waitNanos() : 0;
+        }
+    }
 
     @Override
     public void run(String... args) throws Exception {
+        Startup.markReady();
+        int code;
+        try (BatchedOutput out = BatchedOutput.stdout()) {
+            code = List.of(args).contains("--daemon")
+                    ? daemon(args, out, System.err)
+                    : execute(args, System.in, out, System.err);
+        }
+        if (code != 0) {
+            System.exit(code);
+        }
+    }
+
+    /**
+     * Runs one invocation against the given streams and returns its exit code.
+     * Safe to call concurrently: the daemon runs each client's invocation on its
+     * own thread, all sharing this instance's HTTP client and rate limiter.
+     */
+    public int execute(String[] args, InputStream stdin, PrintStream out, PrintStream err) throws InterruptedException {
+        return execute(args, System.getenv(), stdin, out, err);
+    }
+
+    /**
+     * {@link #execute(String[], InputStream, PrintStream, PrintStream)} with
+     * {@code GITHUB_TOKEN}, {@code GITHUB_API_URL} and {@code NO_COLOR} read from
+     * {@code env}. The daemon passes none: its clients forward their own as options.
+     */
+    int execute(String[] args, Map<String, String> env, InputStream stdin, PrintStream out, PrintStream err)
+            throws InterruptedException {
         if (args.length == 0) {
-            printUsage();
-            System.exit(64); // EX_USAGE
+            printUsage(out);
+            return 64; // EX_USAGE
         }
 
         // very light arg parsing
-        String username = null;
+        List<String> usernames = new ArrayList<>();
+        String usersFile = null;
         int limit = 20;
-        boolean noColor = false;
-        int timeoutSec = 15;
-        String token = System.getenv("GITHUB_TOKEN");
-
-        for (int i = 0; i < args.length; i++) {
-            String a = args[i];
-            switch (a) {
-                case "--limit" -> {
-                    if (i + 1 >= args.length) { error("missing value for --limit"); return; }
-                    limit = Math.max(1, Math.min(100, Integer.parseInt(args[++i])));
-                }
-                case "--timeout" -> {
-                    if (i + 1 >= args.length) { error("missing value for --timeout"); return; }
-                    timeoutSec = Integer.parseInt(args[++i]);
-                }
-                case "--no-color" -> noColor = true;
-                case "--token" -> {
-                    if (i + 1 >= args.length) { error("missing value for --token"); return; }
-                    token = args[++i];
-                }
-                default -> {
-                    if (a.startsWith("-")) {
-                        error("unknown option: " + a);
-                        return;
-                    } else if (username == null) {
-                        username = a;
+        boolean limitGiven = false;
+        boolean summary = false;
+        Boolean color = null; // --color/--no-color, the last one wins
+        boolean verbose = false;
+        String statsFormat = null;
+        int metricsPort = 0;
+        boolean watch = false;
+        int intervalSec = 0;
+        int timeoutSec = DEFAULT_TIMEOUT_SEC;
+        int budgetSec = 0;
+        int maxWaitSec = 60;
+        int retries = 2;
+        int concurrency = 8;
+        boolean noCache = false;
+        Path cacheDir = HttpCache.defaultDir();
+        Path jfrFile = null;
+        String token = env.get("GITHUB_TOKEN");
+        String apiUrl = Optional.ofNullable(env.get("GITHUB_API_URL")).filter(u -> !u.isBlank()).orElse(DEFAULT_API);
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String a = args[i];
+                switch (a) {
+                    case "--limit" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --limit"); }
+                        limit = Math.max(1, Math.min(MAX_EVENTS, number(a, args[++i])));
+                        limitGiven = true;
+                    }
+                    case "--summary" -> summary = true;
+                    case "--timeout" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --timeout"); }
+                        timeoutSec = number(a, args[++i]);
+                    }
+                    case "--budget" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --budget"); }
+                        budgetSec = number(a, args[++i]);
+                    }
+                    case "--max-wait" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --max-wait"); }
+                        maxWaitSec = Math.max(0, number(a, args[++i]));
+                    }
+                    case "--retries" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --retries"); }
+                        retries = Math.max(0, number(a, args[++i]));
+                    }
+                    case "--no-color" -> color = false;
+                    case "--color" -> color = true;
+                    case "--verbose" -> verbose = true;
+                    case "--stats" -> statsFormat = "text";
+                    case "--stats-json" -> statsFormat = "json";
+                    case "--metrics-port" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --metrics-port"); }
+                        metricsPort = number(a, args[++i]);
+                    }
+                    case "--watch" -> watch = true;
+                    case "--interval" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --interval"); }
+                        intervalSec = Math.max(1, number(a, args[++i]));
+                    }
+                    case "--token" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --token"); }
+                        token = args[++i];
+                    }
+                    case "--api-url" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --api-url"); }
+                        apiUrl = args[++i];
+                    }
+                    case "--users-file" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --users-file"); }
+                        usersFile = args[++i];
+                    }
+                    case "--concurrency" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --concurrency"); }
+                        concurrency = Math.max(1, number(a, args[++i]));
+                    }
+                    case "--no-cache" -> noCache = true;
+                    case "--cache-dir" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --cache-dir"); }
+                        cacheDir = Path.of(args[++i]);
+                    }
+                    case "--jfr" -> {
+                        if (i + 1 >= args.length) { return usage(out, err, "missing value for --jfr"); }
+                        jfrFile = Path.of(args[++i]);
+                    }
+                    default -> {
+                        if (a.startsWith("-")) {
+                            return usage(out, err, "unknown option: " + a);
+                        } else if (!a.isBlank()) {
+                            usernames.add(a);
+                        }
                     }
                 }
             }
+        } catch (NumberFormatException e) {
+            return usage(out, err, e.getMessage());
         }
 
-        if (username == null || username.isBlank()) {
-            error("username is required");
-            return;
+        if (usersFile != null) {
+            try {
+                usernames.addAll(readUsernames(usersFile, stdin));
+            } catch (IOException e) {
+                return usage(out, err, "cannot read --users-file " + usersFile + ": " + e.getMessage());
+            }
         }
 
-        boolean useColor = System.console() != null && !noColor && System.getenv("NO_COLOR") == null;
-
-        String url = API.formatted(username);
-        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url))
-            .header("Accept", "application/vnd.github+json")
-            .header("User-Agent", "github-activity-cli/1.0 (+https://github.com/)");
-        if (token != null && !token.isBlank()) {
-            b.header("Authorization", "Bearer " + token)
-             .header("X-GitHub-Api-Version", "2022-11-28");
+        if (usernames.isEmpty()) {
+            return usage(out, err, "username is required");
         }
-        HttpRequest req = b.build();
-
-        HttpResponse<String> resp;
-        try {
-            resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-        } catch (Exception e) {
-            errln(color("Error: ", Ansi.RED, useColor) + "Network error: " + e.getMessage());
-            System.exit(2);
-            return;
+        if (watch && (usernames.size() > 1 || usersFile != null)) {
+            return usage(out, err, "--watch takes a single username");
+        }
+        if (metricsPort > 0 && !watch) {
+            return usage(out, err, "--metrics-port needs --watch (or --daemon)");
+        }
+        if (summary && watch) {
+            return usage(out, err, "--summary cannot be combined with --watch");
+        }
+        // A summary covers everything the API serves unless told otherwise.
+        if (summary && !limitGiven) {
+            limit = MAX_EVENTS;
         }
 
-        int status = resp.statusCode();
-        String body = resp.body();
+        // Only our own stdout can be a terminal; daemon clients decide with --color/--no-color,
+        // which (per no-color.org) override NO_COLOR.
+        boolean tty = (out == System.out || out instanceof BatchedOutput b && b.isStdout()) && System.console() != null;
+        boolean useColor = color != null ? color : tty && env.get("NO_COLOR") == null;
+        HttpCache cache = null;
+        if (!noCache) {
+            try {
+                cache = HttpCache.open(cacheDir);
+            } catch (IOException e) {
+                err.println(color("Warning: ", Ansi.YELLOW, useColor) + "cache disabled, cannot use " + cacheDir + ": " + e.getMessage());
+            }
+        }
+        Duration timeout = Duration.ofSeconds(Math.max(1, timeoutSec));
+        Deadline deadline = budgetSec > 0 ? Deadline.after(Duration.ofSeconds(budgetSec)) : Deadline.NONE;
+        apiUrl = apiUrl.endsWith("/") ? apiUrl.substring(0, apiUrl.length() - 1) : apiUrl;
+        Settings settings = new Settings(apiUrl, limit, summary, useColor, token, cache, timeout, deadline,
+                Duration.ofSeconds(maxWaitSec), new RetryPolicy(retries), new TransferStats(), new ConnectionStats(),
+                new RunStats(metrics, EVENTS_ENDPOINT));
+        initHttp(timeout);
+        if (statsFormat != null) {
+            settings.stats().resolve(apiUrl);
+        }
 
-        if (status >= 400) {
-            String msg = "HTTP " + status + " from GitHub API.";
+        // Normally started by main, before startup; a daemon records per invocation.
+        FlightRecording recording = null;
+        if (jfrFile != null && !FlightRecording.launchedTo(jfrFile)) {
             try {
-                JsonNode err = mapper.readTree(body);
-                if (err.has("message")) {
-                    msg += " " + err.get("message").asText();
-                }
-            } catch (Exception ignore) {}
-            errln(color("Error: ", Ansi.RED, useColor) + msg);
-            if (status == 404) {
-                errln("Tip: check if the username is correct.");
-            } else if (status == 401) {
-                errln("Tip: If using a token, ensure it is valid.");
-            } else if (status == 403) {
-                errln("Tip: Provide a token via --token or GITHUB_TOKEN to raise rate limits.");
+                recording = FlightRecording.start(jfrFile);
+            } catch (IOException | RuntimeException e) {
+                err.println(color("Warning: ", Ansi.YELLOW, useColor) + "not recording, --jfr " + jfrFile + ": " + e.getMessage());
+            }
+        }
+        int code;
+        try {
+            if (watch) {
+                code = watchServingMetrics(usernames.get(0), settings, Duration.ofSeconds(intervalSec), metricsPort, out, err);
+            } else if (usernames.size() == 1 && usersFile == null) {
+                code = single(usernames.get(0), settings, out, err);
+            } else {
+                code = batch(usernames, settings, concurrency, out, err);
             }
-            System.exit(1);
-            return;
+        } finally {
+            if (recording != null) recording.stop();
+        }
+        if (verbose) {
+            err.println(color("Transfer: ", Ansi.DIM, useColor) + settings.transfer().summary());
+            err.println(color("HTTP: ", Ansi.DIM, useColor) + settings.connections().summary());
+        }
+        if (statsFormat != null) {
+            Map<String, Long> stats = settings.stats().snapshot(Startup.take(), settings.transfer().wireBytes(),
+                    settings.transfer().bodyBytes(), rateLimiter.remaining(token), code);
+            err.println("json".equals(statsFormat) ? RunStats.toJson(stats) : RunStats.format(stats));
         }
+        return code;
+    }
 
-        JsonNode events;
+    /**
+     * {@code --daemon [--socket PATH] [--metrics-port N]}: serves invocations from
+     * {@link GhActivityClient} until killed.
+     */
+    private int daemon(String[] args, PrintStream out, PrintStream err) throws InterruptedException {
+        Path socket = DaemonProtocol.defaultSocket();
+        int metricsPort = 0;
         try {
-            events = mapper.readTree(body);
-            if (!events.isArray() || events.isEmpty()) {
-                outln("No recent public activity found.");
-                System.exit(0);
-                return;
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--daemon" -> {}
+                    case "--socket" -> {
+                        if (i + 1 >= args.length) return usage(out, err, "missing value for --socket");
+                        socket = Path.of(args[++i]);
+                    }
+                    case "--jfr" -> {
+                        if (i + 1 >= args.length) return usage(out, err, "missing value for --jfr");
+                        i++; // recording since launch, see GhActivityCli
+                    }
+                    case "--metrics-port" -> {
+                        if (i + 1 >= args.length) return usage(out, err, "missing value for --metrics-port");
+                        metricsPort = number("--metrics-port", args[++i]);
+                    }
+                    default -> {
+                        return usage(out, err, "--daemon only takes --socket, --jfr and --metrics-port; pass other options per invocation");
+                    }
+                }
             }
-        } catch (Exception e) {
-            errln(color("Error: ", Ansi.RED, useColor) + "Failed to parse API response: " + e.getMessage());
-            System.exit(3);
-            return;
+        } catch (NumberFormatException e) {
+            return usage(out, err, e.getMessage());
         }
+        // One client for the daemon's lifetime, so its connection pool stays warm;
+        // a client's --timeout still bounds each of its requests.
+        Startup.take(); // the daemon's startup is no invocation's --stats
+        initHttp(Duration.ofSeconds(DEFAULT_TIMEOUT_SEC));
+        MetricsServer metricsServer = null;
+        if (metricsPort > 0) {
+            try {
+                metricsServer = MetricsServer.start(metricsPort, metrics);
+                err.println("Metrics on " + metricsServer.url());
+            } catch (IOException e) {
+                err.println("Error: cannot serve metrics on port " + metricsPort + ": " + e.getMessage());
+                return 1;
+            }
+        }
+        try {
+            // Only what the client sent counts, never the daemon's own environment.
+            new DaemonServer(socket, (argv, stdin, o, e) -> execute(argv, Map.of(), stdin, o, e)).serve(err);
+            return 0;
+        } catch (IOException e) {
+            err.println("Error: cannot serve on " + socket + ": " + e.getMessage());
+            return 1;
+        } finally {
+            if (metricsServer != null) metricsServer.close();
+        }
+    }
 
-        int count = 0;
-        for (JsonNode ev : events) {
-            outln(describeEvent(ev, useColor));
-            count++;
-            if (count >= limit) break;
+    /**
+     * HTTP/2 (negotiated via ALPN, falling back to HTTP/1.1) lets every request of
+     * a batch, and of later daemon invocations, share one TLS connection per host.
+     */
+    private synchronized void initHttp(Duration connectTimeout) {
+        if (http == null) {
+            http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .executor(httpExecutor)
+                    .connectTimeout(connectTimeout)
+                    .build();
         }
     }
 
-    private String describeEvent(JsonNode ev, boolean useColor) {
-        String type = text(ev, "type").orElse("Event");
-        String repo = ev.has("repo") && ev.get("repo").has("name") ? ev.get("repo").get("name").asText() : "unknown/repo";
-        String created = text(ev, "created_at").map(ts -> {
-            try { return TS_FMT.format(Instant.parse(ts)); } catch (Exception e) { return ts; }
-        }).orElse("");
+    /**
+     * Runs one user straight to stdout. Under a {@code --budget} the work runs on a
+     * worker thread that is interrupted when the budget runs out; whatever was
+     * already streamed stays printed and the run exits with 4.
+     */
+    private int single(String username, Settings settings, PrintStream out, PrintStream err) throws InterruptedException {
+        if (!settings.deadline().isBounded()) {
+            return activity(username, settings, out, err);
+        }
+        int[] code = {0};
+        Thread worker = Thread.ofVirtual().start(() -> {
+            try {
+                code[0] = activity(username, settings, out, err);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        boolean done;
+        try {
+            done = worker.join(settings.deadline().remaining());
+        } catch (InterruptedException e) {
+            worker.interrupt(); // e.g. a daemon client hung up: stop the request with us
+            throw e;
+        }
+        if (!done) {
+            worker.interrupt();
+            worker.join(Duration.ofSeconds(1));
+            out.flush();
+            err.println(color("Error: ", Ansi.RED, settings.useColor()) + "run budget exhausted; output is partial.");
+            return 4;
+        }
+        return code[0];
+    }
 
-        JsonNode payload = ev.has("payload") ? ev.get("payload") : null;
+    /**
+     * Polls page 1 of the user's events until interrupted (or the {@code --budget}
+     * runs out), printing only events not seen before, oldest first. Polls are
+     * conditional, so an unchanged feed costs a 304 and no parsing, and are spaced
+     * by GitHub's {@code X-Poll-Interval} (or {@code minInterval}, if longer).
+     * Parsing of a changed page stops at the first already-seen event. Stops too
+     * once {@code out} fails, i.e. a daemon client has gone away.
+     */
+    private int watch(String username, Settings settings, Duration minInterval, PrintStream out, PrintStream err)
+            throws InterruptedException {
+        boolean useColor = settings.useColor();
+        String url = settings.apiUrl() + EVENTS_PATH.formatted(username);
+        Set<String> seen = new LinkedHashSet<>();
+        EventRenderer renderer = new EventRenderer(useColor);
+        boolean first = true;
+        err.println(color("Watching " + username + " (Ctrl+C to stop)...", Ansi.DIM, useColor));
 
-        switch (type) {
-            case "PushEvent" -> {
-                int commits = 0;
-                if (payload != null && payload.has("commits") && payload.get("commits").isArray()) {
-                    commits = payload.get("commits").size();
+        while (!settings.deadline().expired() && !out.checkError()) {
+            Duration interval = DEFAULT_POLL_INTERVAL;
+            try {
+                Response resp = open(url, settings);
+                if (resp.pollInterval() != null) interval = resp.pollInterval();
+                int status = resp.status();
+                if (status == 401 || status == 404) {
+                    err.println(color("Error: ", Ansi.RED, useColor) + "HTTP " + status + " from GitHub API." + apiMessage(resp.body()));
+                    return 1;
+                } else if (status >= 400) {
+                    err.println(color("Warning: ", Ansi.YELLOW, useColor) + "HTTP " + status + " from GitHub API."
+                            + apiMessage(resp.body()) + " Retrying at the next poll.");
+                } else if (resp.notModified() && !first) {
+                    resp.body().close();
+                } else {
+                    List<GhEvent> fresh = new ArrayList<>();
+                    parsePage(resp, url, settings, ev -> {
+                        if (ev.id() != null && seen.contains(ev.id())) return false; // newest first: the rest is old
+                        fresh.add(ev);
+                        return true;
+                    });
+                    // The first poll only shows the latest --limit events, like a one-shot run.
+                    int shown = first ? Math.min(settings.limit(), fresh.size()) : fresh.size();
+                    RenderEvent render = new RenderEvent();
+                    render.begin();
+                    long renderStart = System.nanoTime();
+                    for (int i = shown - 1; i >= 0; i--) {
+                        renderer.println(fresh.get(i), out);
+                    }
+                    out.flush();
+                    settings.stats().rendered(shown, System.nanoTime() - renderStart);
+                    render.events = shown;
+                    render.commit();
+                    for (int i = fresh.size() - 1; i >= 0; i--) {
+                        if (fresh.get(i).id() != null) seen.add(fresh.get(i).id());
+                    }
+                    trim(seen, WATCH_SEEN_IDS);
+                    first = false;
                 }
-                return "- Pushed " + color(String.valueOf(commits), Ansi.CYAN, useColor)
-                        + " commit" + (commits == 1 ? "" : "s") + " to "
-                        + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
-            }
-            case "IssuesEvent" -> {
-                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "acted on";
-                String num = payload != null && payload.has("issue") && payload.get("issue").has("number")
-                        ? "#" + payload.get("issue").get("number").asText() : "#?";
-                return "- " + cap(action) + " issue " + color(num, Ansi.CYAN, useColor)
-                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            } catch (RateLimiter.RateLimitedException e) {
+                err.println(color("Warning: ", Ansi.YELLOW, useColor) + "GitHub API " + e.getMessage());
+            } catch (IOException e) {
+                if (Thread.currentThread().isInterrupted()) break;
+                err.println(color("Warning: ", Ansi.YELLOW, useColor) + "Network error: " + e.getMessage() + ". Retrying at the next poll.");
             }
-            case "IssueCommentEvent" -> {
-                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "commented";
-                String num = payload != null && payload.has("issue") && payload.get("issue").has("number")
-                        ? "#" + payload.get("issue").get("number").asText() : "#?";
-                return "- " + cap(action) + " on issue " + color(num, Ansi.CYAN, useColor)
-                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
-            }
-            case "PullRequestEvent" -> {
-                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "acted on";
-                boolean merged = payload != null && payload.has("pull_request")
-                        && payload.get("pull_request").has("merged") && payload.get("pull_request").get("merged").asBoolean(false);
-                String num = payload != null && payload.has("pull_request") && payload.get("pull_request").has("number")
-                        ? "#" + payload.get("pull_request").get("number").asText() : "#?";
-                if (merged && "closed".equals(action)) action = "merged";
-                return "- " + cap(action) + " pull request " + color(num, Ansi.CYAN, useColor)
-                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
-            }
-            case "PullRequestReviewEvent" -> {
-                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "reviewed";
-                String num = payload != null && payload.has("pull_request") && payload.get("pull_request").has("number")
-                        ? "#" + payload.get("pull_request").get("number").asText() : "#?";
-                return "- " + cap(action) + " PR " + color(num, Ansi.CYAN, useColor)
-                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
-            }
-            case "PullRequestReviewCommentEvent" -> {
-                String num = payload != null && payload.has("pull_request") && payload.get("pull_request").has("number")
-                        ? "#" + payload.get("pull_request").get("number").asText() : "#?";
-                return "- Commented on PR " + color(num, Ansi.CYAN, useColor)
-                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            if (interval.compareTo(minInterval) < 0) interval = minInterval;
+            Thread.sleep(settings.deadline().cap(interval));
+        }
+        return 0;
+    }
+
+    /** {@link #watch}, with {@link #metrics} served on {@code metricsPort} (if not 0) meanwhile. */
+    private int watchServingMetrics(String username, Settings settings, Duration minInterval, int metricsPort,
+                                    PrintStream out, PrintStream err) throws InterruptedException {
+        if (metricsPort <= 0) {
+            return watch(username, settings, minInterval, out, err);
+        }
+        try (MetricsServer server = MetricsServer.start(metricsPort, metrics)) {
+            err.println(color("Metrics on " + server.url(), Ansi.DIM, settings.useColor()));
+            return watch(username, settings, minInterval, out, err);
+        } catch (IOException e) {
+            err.println(color("Error: ", Ansi.RED, settings.useColor()) + "cannot serve metrics on port " + metricsPort
+                    + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /** Drops the oldest ids so a long-running watch keeps a bounded set. */
+    private static void trim(Set<String> ids, int max) {
+        Iterator<String> it = ids.iterator();
+        for (int excess = ids.size() - max; excess > 0 && it.hasNext(); excess--) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    /**
+     * Fetches every username on its own virtual thread (at most {@code concurrency}
+     * in flight), all sharing {@link #http} and, over HTTP/2, one connection. Each user's output is captured and
+     * printed as one section, in input order, as soon as it and every user before
+     * it are done. Returns the highest per-user exit code.
+     *
+     * <p>When the run budget runs out, users that already finished are still
+     * printed; the rest are cancelled and reported as partial (exit code 4).
+     */
+    private int batch(List<String> usernames, Settings settings, int concurrency, PrintStream out, PrintStream err)
+            throws InterruptedException {
+        record Section(String out, String err, int code) {}
+
+        Semaphore permits = new Semaphore(concurrency);
+        int worst = 0;
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Section>> sections = new ArrayList<>(usernames.size());
+            for (String user : usernames) {
+                sections.add(pool.submit(() -> {
+                    permits.acquire();
+                    try {
+                        ByteArrayOutputStream userOut = new ByteArrayOutputStream();
+                        ByteArrayOutputStream userErr = new ByteArrayOutputStream();
+                        int code;
+                        try (PrintStream o = new PrintStream(userOut, false, StandardCharsets.UTF_8);
+                             PrintStream e = new PrintStream(userErr, false, StandardCharsets.UTF_8)) {
+                            code = activity(user, settings, o, e);
+                        }
+                        return new Section(userOut.toString(StandardCharsets.UTF_8), userErr.toString(StandardCharsets.UTF_8), code);
+                    } finally {
+                        permits.release();
+                    }
+                }));
             }
-            case "WatchEvent" -> {
-                return "- Starred " + color(repo, Ansi.BOLD, useColor)
-                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            for (int i = 0; i < sections.size(); i++) {
+                Future<Section> f = sections.get(i);
+                Section s;
+                try {
+                    s = f.get(settings.deadline().remaining().toNanos(), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException e) {
+                    s = new Section("", color("Error: ", Ansi.RED, settings.useColor()) + e.getCause() + "\n", 1);
+                } catch (TimeoutException e) {
+                    f.cancel(true);
+                    s = new Section("", color("Error: ", Ansi.RED, settings.useColor())
+                            + "run budget exhausted before this user finished.\n", 4);
+                }
+                out.println((i == 0 ? "" : "\n") + color("== " + usernames.get(i) + " ==", Ansi.BOLD, settings.useColor()));
+                out.print(s.out());
+                out.flush();
+                err.print(s.err());
+                err.flush();
+                worst = Math.max(worst, s.code());
             }
-            case "CreateEvent" -> {
-                String refType = payload != null && payload.has("ref_type") ? payload.get("ref_type").asText() : "thing";
-                String ref = payload != null && payload.has("ref") && !payload.get("ref").isNull()
-                        ? payload.get("ref").asText() : repo;
-                return "- Created " + color(refType, Ansi.GREEN, useColor) + " "
-                        + color(ref, Ansi.BOLD, useColor) + " in " + color(repo, Ansi.BOLD, useColor)
-                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            pool.shutdownNow();
+        }
+        return worst;
+    }
+
+    /** One username per line; blank lines and {@code #} comments are ignored. {@code -} reads {@code stdin}. */
+    private static List<String> readUsernames(String file, InputStream stdin) throws IOException {
+        List<String> lines = "-".equals(file)
+                ? new BufferedReader(new InputStreamReader(stdin, StandardCharsets.UTF_8)).lines().toList()
+                : Files.readAllLines(Path.of(file), StandardCharsets.UTF_8);
+        List<String> users = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            String u = line.strip();
+            if (!u.isEmpty() && !u.startsWith("#")) users.add(u);
+        }
+        return users;
+    }
+
+    /** Prints the activity of one user to {@code out}/{@code err} and returns the exit code. */
+    int activity(String username, Settings settings, PrintStream out, PrintStream err) throws InterruptedException {
+        boolean useColor = settings.useColor();
+        int limit = settings.limit();
+        String url = settings.apiUrl() + EVENTS_PATH.formatted(username);
+        int pages = (limit + PER_PAGE - 1) / PER_PAGE;
+
+        // Stream the body: events are rendered as their objects close and, without
+        // a cache, the rest of the response is abandoned once --limit is reached.
+        Response resp;
+        try {
+            resp = open(url, settings);
+        } catch (RateLimiter.RateLimitedException e) {
+            err.println(color("Error: ", Ansi.RED, useColor) + "GitHub API " + e.getMessage());
+            err.println("Tip: Provide a token via --token or GITHUB_TOKEN to raise rate limits, or raise --max-wait.");
+            return 1;
+        } catch (IOException e) {
+            err.println(color("Error: ", Ansi.RED, useColor) + "Network error: " + e.getMessage());
+            return 2;
+        }
+
+        int status = resp.status();
+
+        if (status >= 400) {
+            String msg = "HTTP " + status + " from GitHub API." + apiMessage(resp.body());
+            err.println(color("Error: ", Ansi.RED, useColor) + msg);
+            if (status == 404) {
+                err.println("Tip: check if the username is correct.");
+            } else if (status == 401) {
+                err.println("Tip: If using a token, ensure it is valid.");
+            } else if (status == 403) {
+                err.println("Tip: Provide a token via --token or GITHUB_TOKEN to raise rate limits.");
             }
-            case "DeleteEvent" -> {
-                String refType = payload != null && payload.has("ref_type") ? payload.get("ref_type").asText() : "thing";
-                String ref = payload != null && payload.has("ref") && !payload.get("ref").isNull()
-                        ? payload.get("ref").asText() : "";
-                String target = (refType + " " + ref).trim();
-                return "- Deleted " + color(target, Ansi.YELLOW, useColor)
-                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            return 1;
+        }
+
+        List<String> more = pages > 1
+                ? LinkHeader.followingPages(resp.link(), pages)
+                : List.of();
+        if (settings.summary()) {
+            return summarize(resp, url, more, settings, out, err);
+        }
+
+        int count = 0;
+        EventRenderer renderer = new EventRenderer(useColor);
+        if (more.isEmpty()) {
+            int[] printed = {0};
+            long[] renderNanos = {0};
+            try {
+                parsePage(resp, url, settings, ev -> {
+                    renderNanos[0] += render(renderer, ev, out);
+                    if (++printed[0] < limit) return true;
+                    out.flush(); // every line is out before the rest of the page is read for the cache
+                    return false;
+                });
+            } catch (IOException e) {
+                if (Thread.currentThread().isInterrupted()) return 4; // run budget hit mid-body
+                out.flush();
+                return bodyFailed(e, useColor, err);
             }
-            case "ForkEvent" -> {
-                String forkee = payload != null && payload.has("forkee") && payload.get("forkee").has("full_name")
-                        ? payload.get("forkee").get("full_name").asText() : "a fork";
-                return "- Forked " + color(repo, Ansi.BOLD, useColor) + " to "
-                        + color(forkee, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            count = printed[0];
+            settings.stats().rendered(count, renderNanos[0]);
+        } else {
+            // Pages 2..N are requested as soon as page 1's Link header is known and
+            // transfer concurrently while page 1's body is still being parsed.
+            List<GhEvent> events = new ArrayList<>(pages * PER_PAGE);
+            try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<List<GhEvent>>> pending = new ArrayList<>(more.size());
+                for (String pageUrl : more) {
+                    pending.add(pool.submit(() -> fetchPage(pageUrl, settings)));
+                }
+                try {
+                    events.addAll(readPage(resp, url, settings));
+                } catch (IOException e) {
+                    if (Thread.currentThread().isInterrupted()) return 4;
+                    return bodyFailed(e, useColor, err);
+                }
+                for (int i = 0; i < pending.size(); i++) {
+                    try {
+                        events.addAll(pending.get(i).get());
+                    } catch (ExecutionException e) {
+                        err.println(color("Warning: ", Ansi.YELLOW, useColor) + "skipping page " + (i + 2) + ": "
+                                + e.getCause().getMessage());
+                    }
+                }
             }
-            case "ReleaseEvent" -> {
-                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "published";
-                String tag = payload != null && payload.has("release") && payload.get("release").has("tag_name")
-                        ? payload.get("release").get("tag_name").asText() : "a release";
-                return "- " + cap(action) + " " + color(tag, Ansi.CYAN, useColor) + " in "
-                        + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            RenderEvent render = new RenderEvent();
+            render.begin();
+            long renderStart = System.nanoTime();
+            for (GhEvent ev : merge(events, limit)) {
+                renderer.println(ev, out);
+                count++;
             }
-            case "PublicEvent" -> {
-                return "- Open-sourced " + color(repo, Ansi.BOLD, useColor)
-                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            settings.stats().rendered(count, System.nanoTime() - renderStart);
+            render.events = count;
+            render.commit();
+        }
+
+        if (count == 0) {
+            out.println("No recent public activity found.");
+        }
+        return 0;
+    }
+
+    /**
+     * {@code --summary}: folds the events into an {@link ActivitySummary} as they
+     * are parsed instead of keeping them. Pages 2..N are requested up front, like
+     * for printing, but read in feed order so --limit keeps the newest events; only
+     * ids are kept, to drop events that slid onto the next page.
+     */
+    private int summarize(Response first, String url, List<String> more, Settings settings,
+                          PrintStream out, PrintStream err) throws InterruptedException {
+        boolean useColor = settings.useColor();
+        ActivitySummary summary = new ActivitySummary();
+        Set<String> seen = new HashSet<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Response>> pending = new ArrayList<>(more.size());
+            for (String pageUrl : more) {
+                pending.add(pool.submit(() -> open(pageUrl, settings)));
             }
-            case "MemberEvent" -> {
-                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "changed";
-                String member = payload != null && payload.has("member") && payload.get("member").has("login")
-                        ? payload.get("member").get("login").asText() : "a member";
-                return "- " + cap(action) + " collaborator " + color(member, Ansi.CYAN, useColor)
-                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            int next = 0;
+            try {
+                try {
+                    foldPage(first, url, summary, seen, settings);
+                } catch (IOException e) {
+                    if (Thread.currentThread().isInterrupted()) return 4;
+                    return bodyFailed(e, useColor, err);
+                }
+                for (; next < pending.size(); next++) {
+                    try {
+                        Response resp = pending.get(next).get();
+                        if (resp.status() >= 400) {
+                            throw new IOException("HTTP " + resp.status() + " from GitHub API." + apiMessage(resp.body()));
+                        }
+                        foldPage(resp, more.get(next), summary, seen, settings);
+                    } catch (ExecutionException | IOException e) {
+                        Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                        err.println(color("Warning: ", Ansi.YELLOW, useColor) + "skipping page " + (next + 2) + ": "
+                                + cause.getMessage());
+                    }
+                }
+            } finally {
+                // Pages never read (page 1 failed): stop them, or release their connections.
+                for (int i = next; i < pending.size(); i++) {
+                    Future<Response> f = pending.get(i);
+                    if (!f.cancel(true) && f.state() == Future.State.SUCCESS) {
+                        try {
+                            f.resultNow().body().close();
+                        } catch (IOException ignore) {}
+                    }
+                }
             }
-            case "GollumEvent" -> {
-                return "- Updated wiki in " + color(repo, Ansi.BOLD, useColor)
-                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+        }
+
+        if (summary.events() == 0) {
+            out.println("No recent public activity found.");
+            return 0;
+        }
+        RenderEvent render = new RenderEvent();
+        render.begin();
+        long renderStart = System.nanoTime();
+        int lines = summary.print(out, useColor);
+        settings.stats().rendered(lines, System.nanoTime() - renderStart);
+        render.events = summary.events();
+        render.commit();
+        return 0;
+    }
+
+    /** Adds {@code resp}'s events to {@code summary} until it holds --limit; closes the body. */
+    private void foldPage(Response resp, String url, ActivitySummary summary, Set<String> seen, Settings settings)
+            throws IOException {
+        parsePage(resp, url, settings, ev -> {
+            if (summary.events() < settings.limit() && (ev.id() == null || seen.add(ev.id()))) summary.add(ev);
+            return summary.events() < settings.limit();
+        });
+    }
+
+    /**
+     * Sends a GET for {@code url}. With a cache entry the request is conditional, and
+     * a 304 is answered from disk (GitHub does not count 304s against the rate
+     * limit); fresh 200s are written through to the cache as they are read.
+     */
+    private Response open(String url, Settings settings) throws IOException, InterruptedException {
+        if (settings.deadline().expired()) {
+            throw new HttpTimeoutException("run budget exhausted");
+        }
+        HttpCache cache = settings.cache();
+        HttpCache.Entry cached = cache != null ? cache.get(url, settings.token()) : null;
+        HttpRequest.Builder b = newRequest(url, settings.token());
+        if (cached != null) cached.addValidators(b);
+
+        RetryPolicy retry = settings.retry();
+        HttpResponse<InputStream> resp;
+        int status;
+        int rateLimitWaits = 0;
+        int retries = 0;
+        FetchEvent fetch;
+        while (true) {
+            rateLimiter.acquire(settings.token(), settings.deadline(), settings.maxWait());
+            b.timeout(settings.deadline().cap(settings.timeout()));
+            retry.recordRequest();
+            connectionGate.await(settings.deadline().cap(settings.timeout()));
+            fetch = new FetchEvent();
+            fetch.url = url;
+            fetch.attempt = rateLimitWaits + retries;
+            fetch.start();
+            long sent = System.nanoTime();
+            boolean released = false;
+            try {
+                resp = http.send(b.build(), HttpResponse.BodyHandlers.ofInputStream());
+                connectionGate.connected();
+                released = true;
+                settings.stats().response(sent, resp.statusCode());
+                settings.connections().record(resp);
+            } catch (IOException e) {
+                connectionGate.failed();
+                released = true;
+                fetch.commit();
+                settings.stats().sendFailed(sent);
+                Duration delay = RetryPolicy.isRetryable(e, settings.deadline())
+                        ? retry.nextDelay(retries++, settings.deadline()) : null;
+                if (delay == null) throw e;
+                settings.stats().retried();
+                Thread.sleep(delay);
+                continue;
+            } finally {
+                // Interrupted (--budget, a daemon client hanging up): don't leave the others waiting.
+                if (!released) connectionGate.failed();
             }
-            case "CommitCommentEvent" -> {
-                return "- Commented on a commit in " + color(repo, Ansi.BOLD, useColor)
-                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            status = resp.statusCode();
+            fetch.headers(status);
+            rateLimiter.update(settings.token(), resp.headers(), status);
+
+            // Secondary limits (Retry-After) and an exhausted quota are waited out
+            // instead of failing the run, as long as the wait fits the allowance.
+            Duration backoff = RateLimiter.backoff(status, resp.headers());
+            if (backoff != null && rateLimitWaits < RATE_LIMIT_RETRIES
+                    && backoff.compareTo(settings.deadline().cap(settings.maxWait())) <= 0) {
+                rateLimitWaits++;
+                resp.body().close();
+                fetch.commit();
+                settings.stats().rateLimitWait(backoff);
+                Thread.sleep(backoff);
+                continue;
             }
-            default -> {
-                return "- " + type + " in " + color(repo, Ansi.BOLD, useColor)
-                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            Duration delay = RetryPolicy.isRetryable(status) ? retry.nextDelay(retries++, settings.deadline()) : null;
+            if (delay == null) break;
+            resp.body().close();
+            fetch.commit();
+            settings.stats().retried();
+            Thread.sleep(delay);
+        }
+        if (status == 304 && cached != null) {
+            resp.body().close();
+            fetch.cacheHit = true;
+            fetch.commit();
+            return new Response(200, cached.link(), cached.open(), true, pollInterval(resp), null);
+        }
+        String link = resp.headers().firstValue("Link").orElse(null);
+        RunStats.Body wire = settings.stats().body(new ReadTimeout(resp.body(), settings.timeout()));
+        InputStream body = ContentDecoding.decode(resp.headers(), fetch.track(wire), settings.transfer());
+        if (status == 200 && cache != null) {
+            body = cache.store(url, settings.token(), resp.headers(), body);
+        }
+        return new Response(status, link, body, false, pollInterval(resp), wire);
+    }
+
+    /** GitHub's {@code X-Poll-Interval}: the shortest interval it wants between polls. */
+    private static Duration pollInterval(HttpResponse<?> resp) {
+        return resp.headers().firstValue("X-Poll-Interval").map(v -> {
+            try {
+                return Duration.ofSeconds(Long.parseLong(v.trim()));
+            } catch (NumberFormatException e) {
+                return null;
             }
+        }).orElse(null);
+    }
+
+    private HttpRequest.Builder newRequest(String url, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(url))
+            .header("Accept", "application/vnd.github+json")
+            .header("User-Agent", "github-activity-cli/1.0 (+https://github.com/)")
+            .header("Accept-Encoding", ContentDecoding.ACCEPT);
+        if (token != null && !token.isBlank()) {
+            b.header("Authorization", "Bearer " + token)
+             .header("X-GitHub-Api-Version", "2022-11-28");
         }
+        return b;
     }
 
-    private static Optional<String> text(JsonNode node, String field) {
-        if (node != null && node.has(field) && !node.get(field).isNull()) {
-            return Optional.of(node.get(field).asText());
+    /** Fetches and fully binds one follow-up page; runs on a pagination worker. */
+    private List<GhEvent> fetchPage(String url, Settings settings) throws IOException, InterruptedException {
+        Response resp = open(url, settings);
+        if (resp.status() >= 400) {
+            throw new IOException("HTTP " + resp.status() + " from GitHub API." + apiMessage(resp.body()));
         }
-        return Optional.empty();
+        return readPage(resp, url, settings);
     }
 
-    private static void printUsage() {
+    /** Binds all of {@code resp}'s events and closes its body. */
+    private List<GhEvent> readPage(Response resp, String url, Settings settings) throws IOException {
+        List<GhEvent> events = new ArrayList<>(PER_PAGE);
+        parsePage(resp, url, settings, ev -> {
+            events.add(ev);
+            return true;
+        });
+        return events;
+    }
+
+    /** Takes a page's events in feed order; returns false to stop reading them. */
+    @FunctionalInterface
+    private interface PageSink {
+        boolean accept(GhEvent ev);
+    }
+
+    /**
+     * Parses {@code resp}'s events into {@code sink} until it returns false, records
+     * the parse for {@code --stats} and JFR, and closes the body. Time spent in
+     * {@code sink} and waiting on the network is not counted as parsing. A page
+     * stopped short is still read to EOF when it is being cached, so the next
+     * request for it gets a 304. Returns the number of events parsed.
+     */
+    private int parsePage(Response resp, String url, Settings settings, PageSink sink) throws IOException {
+        EventReader reader = new EventReader();
+        ParseEvent parse = new ParseEvent();
+        parse.begin();
+        long parseStart = System.nanoTime();
+        long sinkNanos = 0;
+        int count = 0;
+        try (InputStream in = resp.body(); JsonParser p = json.createParser(in)) {
+            if (p.nextToken() == JsonToken.START_ARRAY) {
+                boolean more = true;
+                while (more && p.nextToken() == JsonToken.START_OBJECT) {
+                    GhEvent ev = reader.read(p);
+                    count++;
+                    long t0 = System.nanoTime();
+                    more = sink.accept(ev);
+                    sinkNanos += System.nanoTime() - t0;
+                }
+                // A full page leaves just the closing bracket; read it too, so the page gets cached.
+                if (p.currentToken() == JsonToken.END_ARRAY || count == PER_PAGE
+                        || settings.cache() != null && !resp.notModified()) readToEnd(p);
+            }
+        }
+        settings.stats().parsed(count, System.nanoTime() - parseStart - resp.bodyWaitNanos() - sinkNanos);
+        parse.url = url;
+        parse.events = count;
+        parse.commit();
+        return count;
+    }
+
+    /**
+     * Reads past the end of the array to the end of the body. The parser stops at
+     * the closing bracket, and a cached body is only stored once read to EOF.
+     */
+    private static void readToEnd(JsonParser p) throws IOException {
+        while (p.nextToken() != null) p.skipChildren();
+    }
+
+    /** Prints one event as it is parsed; returns the time it took. */
+    private static long render(EventRenderer renderer, GhEvent ev, PrintStream out) {
+        RenderEvent jfr = new RenderEvent();
+        jfr.begin();
+        long start = System.nanoTime();
+        renderer.println(ev, out);
+        long nanos = System.nanoTime() - start;
+        jfr.events = 1;
+        jfr.commit();
+        return nanos;
+    }
+
+    /**
+     * Newest-first merge of all fetched pages. Events that slid onto the next page
+     * while the pages were being fetched show up twice and are dropped by id.
+     */
+    private static List<GhEvent> merge(List<GhEvent> events, int limit) {
+        Set<String> seen = new HashSet<>();
+        return events.stream()
+                .filter(ev -> ev.id() == null || seen.add(ev.id()))
+                .sorted(Comparator.comparing(GhEvent::createdAt).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /** " <message>" from an error body, or "" when there is none. Consumes the body. */
+    private String apiMessage(InputStream body) {
+        try (InputStream in = body; JsonParser p = json.createParser(in)) {
+            if (p.nextToken() == JsonToken.START_OBJECT) {
+                String field;
+                while ((field = p.nextFieldName()) != null) {
+                    JsonToken t = p.nextToken();
+                    if ("message".equals(field) && t.isScalarValue()) return " " + p.getText();
+                    p.skipChildren();
+                }
+            }
+        } catch (Exception ignore) {}
+        return "";
+    }
+
+    private static void printUsage(PrintStream out) {
         String usage =
                 "GitHub Activity CLI (Spring Boot, no external HTTP libs)\n" +
                         "\n" +
                         "Uso:\n" +
-                        "  java -jar github-activity-*.jar <username> [--limit N] [--token TOKEN] [--timeout SECONDS] [--no-color]\n" +
+                        "  java -jar github-activity-*.jar <username> [--limit N] [--token TOKEN] [--timeout SECONDS] [--budget SECONDS] [--no-color] [--verbose]\n" +
+                        "  java -jar github-activity-*.jar <user1> <user2> ... [--users-file FILE|-] [--concurrency N]\n" +
+                        "  Watch: <username> --watch [--interval SECONDS]  (polls, printing only new events)\n" +
+                        "  Summary: [--summary]  (counts per type, repo and action instead of the events; all 300 unless --limit)\n" +
+                        "  API: [--api-url URL]  (default $GITHUB_API_URL or https://api.github.com)\n" +
+                        "  Retries: [--retries N]  (transient network errors and 502/503/504, default 2)\n" +
+                        "  Rate limit: [--max-wait SECONDS]  (longest wait for a quota reset or Retry-After, default 60)\n" +
+                        "  Cache: [--no-cache] [--cache-dir DIR]  (default $XDG_CACHE_HOME/github-activity)\n" +
+                        "  Daemon: --daemon [--socket PATH]  (keeps the JVM warm for GhActivityClient; default $GH_ACTIVITY_SOCKET)\n" +
+                        "  Metrics: [--metrics-port PORT]  (with --watch or --daemon: Prometheus /metrics on 127.0.0.1)\n" +
+                        "  Colors: [--color]  (force colors when stdout is not a terminal or NO_COLOR is set)\n" +
+                        "  Profiling: [--jfr FILE]  (JDK Flight Recorder recording of the run, startup included)\n" +
+                        "  Stats: [--stats | --stats-json]  (timings, bytes and counts of the run on stderr)\n" +
                         "\n" +
                         "Exemplos:\n" +
                         "  java -jar github-activity.jar octocat\n" +
                         "  java -jar github-activity.jar tn-junior --limit 15\n" +
-                        "  GITHUB_TOKEN=ghp_xxx java -jar github-activity.jar octocat\n";
-        System.out.println(usage);
+                        "  GITHUB_TOKEN=ghp_xxx java -jar github-activity.jar octocat\n" +
+                        "  java -Dloader.main=com.task.ghactivity.GhActivityCli -cp github-activity.jar \\\n" +
+                        "       org.springframework.boot.loader.launch.PropertiesLauncher octocat   (no Spring context, faster start)\n" +
+                        "  java -jar github-activity.jar --users-file team.txt --concurrency 16\n" +
+                        "  java -jar github-activity.jar --daemon &\n" +
+                        "  java -Dloader.main=com.task.ghactivity.GhActivityClient -cp github-activity.jar \\\n" +
+                        "       org.springframework.boot.loader.launch.PropertiesLauncher octocat   (via the daemon)\n";
+        out.println(usage);
     }
 
 
-    private static String color(String s, String ansi, boolean useColor) {
-        return useColor ? (ansi + s + Ansi.RESET) : s;
+    /** Reports a body that could not be read: a stall is a network error (2), anything else a parse error (3). */
+    private static int bodyFailed(IOException e, boolean useColor, PrintStream err) {
+        if (e instanceof HttpTimeoutException) {
+            err.println(color("Error: ", Ansi.RED, useColor) + "Network error: " + e.getMessage());
+            return 2;
+        }
+        err.println(color("Error: ", Ansi.RED, useColor) + "Failed to parse API response: " + e.getMessage());
+        return 3;
     }
 
-    private static void errln(String s) { System.err.println(s); }
-    private static void outln(String s) { System.out.println(s); }
-    private static void error(String msg) {
-        errln("Error: " + msg);
-        printUsage();
-        System.exit(64);
+    /** {@code value} as the number {@code option} takes; the message is the usage error. */
+    private static int number(String option, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(option + " takes a number, not '" + value + "'");
+        }
+    }
+
+    private static String color(String s, String ansi, boolean useColor) {
+        return useColor ? (ansi + s + Ansi.RESET) : s;
     }
 
-    private static String cap(String s) {
-        if (s == null || s.isEmpty()) return s;
-        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    private static int usage(PrintStream out, PrintStream err, String msg) {
+        err.println("Error: " + msg);
+        printUsage(out);
+        return 64; // EX_USAGE
     }
 }
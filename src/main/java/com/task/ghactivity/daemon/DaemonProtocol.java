@@ -0,0 +1,116 @@
+package com.task.ghactivity.daemon;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+
+/**
+ * Wire format between {@link DaemonServer} and {@code GhActivityClient} over a
+ * Unix domain socket.
+ *
+ * <p>Request (client to daemon): {@code int version, int argc}, {@code argc}
+ * modified-UTF-8 strings, {@code int n} and {@code n} bytes of stdin (only sent
+ * for {@code --users-file -}). The client keeps its end open; closing it tells
+ * the daemon to abandon the invocation.
+ *
+ * <p>Reply (daemon to client): frames of {@code byte kind, int length} and
+ * {@code length} bytes. {@link #STDOUT}/{@link #STDERR} frames carry output as
+ * it is written; one {@link #EXIT} frame carrying the {@code int} exit code ends
+ * the reply.
+ *
+ * <p>The token travels in the arguments, so both ends only use a socket in a
+ * directory owned by the current user with mode 0700 (see {@link #requirePrivate}).
+ */
+public final class DaemonProtocol {
+
+    public static final int VERSION = 1;
+
+    public static final byte STDOUT = 1;
+    public static final byte STDERR = 2;
+    public static final byte EXIT = 3;
+
+    /** Far more than any command line; bounds what a request can make the daemon allocate. */
+    static final int MAX_ARGS = 4096;
+    /** {@code --users-file -} input: a million usernames. */
+    static final int MAX_STDIN = 64 << 20;
+
+    /** One forwarded invocation. */
+    record Request(String[] args, byte[] stdin) {}
+
+    private DaemonProtocol() {}
+
+    /**
+     * {@code $GH_ACTIVITY_SOCKET}, else {@code $XDG_RUNTIME_DIR/github-activity.sock},
+     * else {@code daemon.sock} in a per-user directory under {@code java.io.tmpdir}.
+     */
+    public static Path defaultSocket() {
+        String socket = System.getenv("GH_ACTIVITY_SOCKET");
+        if (socket != null && !socket.isBlank()) return Path.of(socket);
+        String runtime = System.getenv("XDG_RUNTIME_DIR");
+        if (runtime != null && !runtime.isBlank()) return Path.of(runtime, "github-activity.sock");
+        return Path.of(System.getProperty("java.io.tmpdir"), "github-activity-" + System.getProperty("user.name"), "daemon.sock");
+    }
+
+    /**
+     * Throws unless {@code socket} and its directory are owned by the current user
+     * with modes 0600 and 0700: anyone else could be listening there to collect
+     * tokens. {@link java.nio.file.NoSuchFileException} means there is no daemon.
+     * A no-op on file systems without POSIX permissions.
+     */
+    public static void requirePrivate(Path socket) throws IOException {
+        requirePrivateDirectory(socket.toAbsolutePath().getParent());
+        requireOwned(socket, "rw-------");
+    }
+
+    /** Throws unless {@code dir} is owned by the current user with mode 0700. */
+    public static void requirePrivateDirectory(Path dir) throws IOException {
+        requireOwned(dir, "rwx------");
+    }
+
+    private static void requireOwned(Path path, String perms) throws IOException {
+        PosixFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(path, PosixFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (UnsupportedOperationException e) {
+            return;
+        }
+        UserPrincipal me = path.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if (!attrs.owner().equals(me)) {
+            throw new IOException(path + " is owned by " + attrs.owner().getName() + ", not " + me.getName());
+        }
+        String mode = PosixFilePermissions.toString(attrs.permissions());
+        if (!mode.equals(perms)) {
+            throw new IOException(path + " has permissions " + mode + ", expected " + perms);
+        }
+    }
+
+    public static void writeRequest(DataOutputStream out, String[] args, byte[] stdin) throws IOException {
+        out.writeInt(VERSION);
+        out.writeInt(args.length);
+        for (String a : args) out.writeUTF(a);
+        out.writeInt(stdin.length);
+        out.write(stdin);
+        out.flush();
+    }
+
+    static Request readRequest(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != VERSION) throw new IOException("unsupported protocol version " + version);
+        String[] args = new String[length(in.readInt(), MAX_ARGS, "argument count")];
+        for (int i = 0; i < args.length; i++) args[i] = in.readUTF();
+        byte[] stdin = in.readNBytes(length(in.readInt(), MAX_STDIN, "stdin length"));
+        return new Request(args, stdin);
+    }
+
+    private static int length(int n, int max, String what) throws IOException {
+        if (n < 0 || n > max) throw new IOException("bad " + what + " " + n);
+        return n;
+    }
+}
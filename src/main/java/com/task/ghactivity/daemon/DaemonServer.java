@@ -0,0 +1,229 @@
+package com.task.ghactivity.daemon;
+
+import com.task.ghactivity.util.BatchedOutput;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a warm JVM serving invocations forwarded by {@code GhActivityClient} over
+ * a Unix domain socket (see {@link DaemonProtocol}). Each connection runs on its
+ * own virtual thread with stdout/stderr streamed back as frames; when the client
+ * hangs up (e.g. Ctrl+C during {@code --watch}) its invocation is interrupted.
+ *
+ * <p>The socket is only accessible to the current user: the token travels in the
+ * forwarded arguments. It is bound in a private staging directory, restricted,
+ * and only then renamed into place, in a directory checked to be the user's own.
+ */
+public final class DaemonServer {
+
+    /** Runs one invocation against the given streams and returns its exit code. */
+    @FunctionalInterface
+    public interface Command {
+        int run(String[] args, InputStream stdin, PrintStream out, PrintStream err) throws Exception;
+    }
+
+    private final Path socket;
+    private final Command command;
+
+    public DaemonServer(Path socket, Command command) {
+        this.socket = socket;
+        this.command = command;
+    }
+
+    /** Accepts connections until the process is killed. */
+    public void serve(PrintStream log) throws IOException {
+        Path dir = prepare();
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            bindPrivate(server, dir);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    Files.deleteIfExists(socket);
+                } catch (IOException ignore) {}
+            }));
+            log.println("Listening on " + socket + " (Ctrl+C to stop)...");
+            while (true) {
+                SocketChannel ch = server.accept();
+                Thread.ofVirtual().name("gh-activity-client").start(() -> handle(ch));
+            }
+        }
+    }
+
+    /**
+     * Creates the socket's directory (mode 0700), refuses one that is not private to
+     * the current user, and removes a socket left behind by a dead daemon.
+     */
+    private Path prepare() throws IOException {
+        Path dir = socket.toAbsolutePath().getParent();
+        if (!Files.exists(dir, LinkOption.NOFOLLOW_LINKS)) {
+            Files.createDirectories(dir.getParent());
+            try {
+                Files.createDirectory(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } catch (UnsupportedOperationException e) {
+                Files.createDirectory(dir);
+            } catch (FileAlreadyExistsException ignore) {
+                // created concurrently; checked below like any existing directory
+            }
+        }
+        DaemonProtocol.requirePrivateDirectory(dir);
+        if (Files.exists(socket, LinkOption.NOFOLLOW_LINKS)) {
+            if (listening(socket)) throw new IOException("a daemon is already listening");
+            Files.delete(socket);
+        }
+        return dir;
+    }
+
+    /**
+     * Binds {@code server} to {@link #socket} without it ever being reachable with
+     * looser permissions: binding creates the socket file with the umask applied.
+     */
+    private void bindPrivate(ServerSocketChannel server, Path dir) throws IOException {
+        Path staging = Files.createTempDirectory(dir, ".bind"); // 0700 where POSIX
+        try {
+            Path bound = staging.resolve("daemon.sock");
+            server.bind(UnixDomainSocketAddress.of(bound));
+            ownerOnly(bound, "rw-------");
+            Files.move(bound, socket, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(staging.resolve("daemon.sock"));
+            Files.delete(staging);
+        }
+    }
+
+    private static boolean listening(Path socket) {
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socket)).close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void ownerOnly(Path path, String perms) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString(perms));
+        } catch (UnsupportedOperationException ignore) {}
+    }
+
+    private void handle(SocketChannel ch) {
+        try (ch) {
+            DaemonProtocol.Request req = DaemonProtocol.readRequest(new DataInputStream(Channels.newInputStream(ch)));
+            FrameWriter frames = new FrameWriter(ch);
+            BatchedOutput out = new BatchedOutput(frames.stream(DaemonProtocol.STDOUT), StandardCharsets.UTF_8);
+            PrintStream err = new PrintStream(frames.stream(DaemonProtocol.STDERR), true, StandardCharsets.UTF_8);
+
+            // The client never sends more; EOF means it has gone away.
+            Thread worker = Thread.currentThread();
+            AtomicBoolean done = new AtomicBoolean();
+            Thread.ofVirtual().start(() -> {
+                try {
+                    while (ch.read(ByteBuffer.allocate(1)) >= 0) { /* ignore */ }
+                } catch (IOException ignore) {}
+                if (!done.get()) worker.interrupt();
+            });
+
+            int code;
+            try {
+                code = command.run(req.args(), new ByteArrayInputStream(req.stdin()), out, err);
+            } catch (InterruptedException e) {
+                code = 130; // client hung up
+            } catch (Exception e) {
+                err.println("Error: " + e);
+                code = 70; // EX_SOFTWARE
+            }
+            done.set(true);
+            Thread.interrupted();
+            out.close();
+            err.flush();
+            frames.exit(code);
+        } catch (IOException | InterruptedException ignore) {
+            // malformed request or client gone; nothing to report to
+        }
+    }
+
+    /**
+     * Queues frames for a dedicated writer thread. Invocation threads never touch
+     * the channel themselves: interrupting a thread blocked in channel I/O closes
+     * the channel, and {@code --budget} interrupts workers mid-output.
+     */
+    private static final class FrameWriter {
+        private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+        private final SocketChannel ch;
+        private final BlockingQueue<ByteBuffer> queue = new ArrayBlockingQueue<>(256);
+        private final Thread thread;
+        private volatile boolean failed;
+
+        FrameWriter(SocketChannel ch) {
+            this.ch = ch;
+            this.thread = Thread.ofVirtual().start(this::drain);
+        }
+
+        /** Each write becomes one frame; callers buffer. */
+        OutputStream stream(byte kind) {
+            return new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    if (len > 0) send(kind, b, off, len);
+                }
+            };
+        }
+
+        void exit(int code) throws InterruptedException, IOException {
+            send(DaemonProtocol.EXIT, ByteBuffer.allocate(4).putInt(code).array(), 0, 4);
+            queue.put(END);
+            thread.join();
+        }
+
+        private void send(byte kind, byte[] b, int off, int len) throws IOException {
+            if (failed) throw new IOException("client went away");
+            ByteBuffer frame = ByteBuffer.allocate(5 + len).put(kind).putInt(len).put(b, off, len).flip();
+            try {
+                queue.put(frame);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+
+        /** Writes queued frames; after a failure keeps draining so senders never block. */
+        private void drain() {
+            try {
+                for (ByteBuffer f; (f = queue.take()) != END; ) {
+                    if (failed) continue;
+                    try {
+                        while (f.hasRemaining()) ch.write(f);
+                    } catch (IOException e) {
+                        failed = true;
+                    }
+                }
+            } catch (InterruptedException ignore) {}
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.task.ghactivity.event;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binds events straight from a {@link JsonParser} into {@link GhEvent} records.
+ * Only the handful of fields the renderer needs are read; everything else
+ * (actor, commit lists, PR/issue bodies, ...) is skipped token by token without
+ * being materialized.
+ *
+ * <p>Payload fields are collected independently of {@code type} so the result
+ * does not depend on the field order GitHub happens to use. While {@code type}
+ * is unknown or not modeled, the payload's scalars, and those of its objects one
+ * level down, are also kept for {@link GhEvent.OtherEvent}, including the ones
+ * under the field names modeled types use ({@code issue}, {@code pull_request},
+ * ...). Instances keep scratch state and are not thread-safe.
+ */
+public final class EventReader {
+
+    /** Types with their own record; see {@link #build()}. */
+    private static final Set<String> MODELED = Set.of(
+            "PushEvent", "IssuesEvent", "IssueCommentEvent", "PullRequestEvent", "PullRequestReviewEvent",
+            "PullRequestReviewCommentEvent", "WatchEvent", "CreateEvent", "DeleteEvent", "ForkEvent",
+            "ReleaseEvent", "PublicEvent", "MemberEvent", "GollumEvent", "CommitCommentEvent");
+
+    private String id;
+    private String type;
+    private String repo;
+    private String createdAt;
+    private String action;
+    private String number;
+    private boolean merged;
+    private int commits;
+    private String refType;
+    private String ref;
+    private String forkee;
+    private String tag;
+    private String member;
+    private final Map<String, String> scalars = new LinkedHashMap<>();
+
+    /**
+     * Reads one event. The parser must be positioned on the event's
+     * {@code START_OBJECT}; on return it is on the matching {@code END_OBJECT}.
+     */
+    public GhEvent read(JsonParser p) throws IOException {
+        reset();
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            JsonToken t = p.nextToken();
+            switch (field) {
+                case "id" -> id = text(p, t);
+                case "type" -> type = text(p, t);
+                case "created_at" -> createdAt = text(p, t);
+                case "repo" -> repo = nested(p, t, "name");
+                case "payload" -> readPayload(p, t);
+                default -> p.skipChildren();
+            }
+        }
+        return build();
+    }
+
+    private void readPayload(JsonParser p, JsonToken t) throws IOException {
+        if (t != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            JsonToken v = p.nextToken();
+            switch (field) {
+                case "action" -> action = text(p, v);
+                case "ref_type" -> refType = text(p, v);
+                case "ref" -> ref = text(p, v);
+                case "commits" -> {
+                    if (v == JsonToken.START_ARRAY) commits = countElements(p, v);
+                    else collectOrSkip(p, v, field);
+                }
+                case "issue" -> number = nested(p, v, field, "number");
+                case "pull_request" -> readPullRequest(p, v);
+                case "forkee" -> forkee = nested(p, v, field, "full_name");
+                case "release" -> tag = nested(p, v, field, "tag_name");
+                case "member" -> member = nested(p, v, field, "login");
+                default -> collectOrSkip(p, v, field);
+            }
+        }
+    }
+
+    /** Whether the event may still turn out to be an {@link GhEvent.OtherEvent}. */
+    private boolean collecting() {
+        return type == null || !MODELED.contains(type);
+    }
+
+    /** Keeps a scalar, or the scalars of an object one level down, for {@link GhEvent.OtherEvent}. */
+    private void collectOrSkip(JsonParser p, JsonToken t, String field) throws IOException {
+        if (!collecting()) {
+            p.skipChildren();
+        } else if (t == JsonToken.START_OBJECT) {
+            String sub;
+            while ((sub = p.nextFieldName()) != null) {
+                keep(field + "." + sub, p, p.nextToken());
+            }
+        } else {
+            keep(field, p, t);
+        }
+    }
+
+    /** Reads {@code wanted} out of the payload object {@code field}, collecting its scalars too while that may matter. */
+    private String nested(JsonParser p, JsonToken t, String field, String wanted) throws IOException {
+        if (!collecting()) return nested(p, t, wanted);
+        if (t != JsonToken.START_OBJECT) {
+            keep(field, p, t);
+            return null;
+        }
+        String value = null;
+        String sub;
+        while ((sub = p.nextFieldName()) != null) {
+            JsonToken v = p.nextToken();
+            if (wanted.equals(sub)) value = text(p, v);
+            keep(field + "." + sub, p, v);
+        }
+        return value;
+    }
+
+    private void readPullRequest(JsonParser p, JsonToken t) throws IOException {
+        if (t != JsonToken.START_OBJECT) {
+            collectOrSkip(p, t, "pull_request");
+            return;
+        }
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            JsonToken v = p.nextToken();
+            switch (field) {
+                case "number" -> number = text(p, v);
+                case "merged" -> merged = v == JsonToken.VALUE_TRUE;
+            }
+            if (collecting()) keep("pull_request." + field, p, v);
+            else p.skipChildren();
+        }
+    }
+
+    /** Keeps the scalar {@code t} under {@code key}; skips anything else. */
+    private void keep(String key, JsonParser p, JsonToken t) throws IOException {
+        if (t.isScalarValue() && t != JsonToken.VALUE_NULL) scalars.put(key, p.getText());
+        else p.skipChildren();
+    }
+
+    private GhEvent build() {
+        String r = repo != null ? repo : "unknown/repo";
+        String c = createdAt != null ? createdAt : "";
+        String ty = type != null ? type : "Event";
+        return switch (ty) {
+            case "PushEvent" -> new GhEvent.PushEvent(id, r, c, commits);
+            case "IssuesEvent" -> new GhEvent.IssuesEvent(id, r, c, action, number);
+            case "IssueCommentEvent" -> new GhEvent.IssueCommentEvent(id, r, c, action, number);
+            case "PullRequestEvent" -> new GhEvent.PullRequestEvent(id, r, c, action, number, merged);
+            case "PullRequestReviewEvent" -> new GhEvent.PullRequestReviewEvent(id, r, c, action, number);
+            case "PullRequestReviewCommentEvent" -> new GhEvent.PullRequestReviewCommentEvent(id, r, c, number);
+            case "WatchEvent" -> new GhEvent.WatchEvent(id, r, c);
+            case "CreateEvent" -> new GhEvent.CreateEvent(id, r, c, refType, ref);
+            case "DeleteEvent" -> new GhEvent.DeleteEvent(id, r, c, refType, ref);
+            case "ForkEvent" -> new GhEvent.ForkEvent(id, r, c, forkee);
+            case "ReleaseEvent" -> new GhEvent.ReleaseEvent(id, r, c, action, tag);
+            case "PublicEvent" -> new GhEvent.PublicEvent(id, r, c);
+            case "MemberEvent" -> new GhEvent.MemberEvent(id, r, c, action, member);
+            case "GollumEvent" -> new GhEvent.GollumEvent(id, r, c);
+            case "CommitCommentEvent" -> new GhEvent.CommitCommentEvent(id, r, c);
+            default -> new GhEvent.OtherEvent(id, ty, r, c, otherPayload());
+        };
+    }
+
+    /** The collected scalars plus the named fields this reader pulled out of the payload. */
+    private Map<String, String> otherPayload() {
+        if (action != null) scalars.putIfAbsent("action", action);
+        if (ref != null) scalars.putIfAbsent("ref", ref);
+        if (refType != null) scalars.putIfAbsent("ref_type", refType);
+        return Map.copyOf(scalars);
+    }
+
+    private void reset() {
+        id = type = repo = createdAt = null;
+        action = number = refType = ref = forkee = tag = member = null;
+        merged = false;
+        commits = 0;
+        scalars.clear();
+    }
+
+    /** Scalar value as text, or null for JSON null and non-scalars (which are skipped). */
+    private static String text(JsonParser p, JsonToken t) throws IOException {
+        if (t == null || t == JsonToken.VALUE_NULL) return null;
+        if (t.isScalarValue()) return p.getText();
+        p.skipChildren();
+        return null;
+    }
+
+    /** Reads {@code field} out of an object value, skipping all its siblings. */
+    private static String nested(JsonParser p, JsonToken t, String wanted) throws IOException {
+        if (t != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        String value = null;
+        String field;
+        while ((field = p.nextFieldName()) != null) {
+            JsonToken v = p.nextToken();
+            if (wanted.equals(field)) {
+                value = text(p, v);
+            } else {
+                p.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    private static int countElements(JsonParser p, JsonToken t) throws IOException {
+        if (t != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return 0;
+        }
+        int n = 0;
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            p.skipChildren();
+            n++;
+        }
+        return n;
+    }
+}
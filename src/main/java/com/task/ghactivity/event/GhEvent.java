@@ -0,0 +1,103 @@
+package com.task.ghactivity.event;
+
+import java.util.Map;
+
+/**
+ * Typed view of one entry of the GitHub events API, holding only the fields the
+ * CLI renders. Nullable components mean the field was absent from the payload;
+ * the renderer decides the fallback text.
+ */
+public sealed interface GhEvent {
+
+    String id();
+    String repo();
+    String createdAt();
+
+    /** {@code type} as sent by the API (e.g. "PushEvent"). */
+    String type();
+
+    /**
+     * {@code payload.action} (e.g. "opened", "closed"), or null when absent or
+     * the type has none. Records with an {@code action} component answer it.
+     */
+    default String action() {
+        return null;
+    }
+
+    record PushEvent(String id, String repo, String createdAt, int commits) implements GhEvent {
+        public String type() { return "PushEvent"; }
+    }
+
+    record IssuesEvent(String id, String repo, String createdAt, String action, String number) implements GhEvent {
+        public String type() { return "IssuesEvent"; }
+    }
+
+    record IssueCommentEvent(String id, String repo, String createdAt, String action, String number) implements GhEvent {
+        public String type() { return "IssueCommentEvent"; }
+    }
+
+    record PullRequestEvent(String id, String repo, String createdAt, String action, String number, boolean merged) implements GhEvent {
+        public String type() { return "PullRequestEvent"; }
+
+        /** {@link #action()}, except "merged" for a closed PR that was merged. */
+        public String outcome() {
+            return merged && "closed".equals(action) ? "merged" : action;
+        }
+    }
+
+    record PullRequestReviewEvent(String id, String repo, String createdAt, String action, String number) implements GhEvent {
+        public String type() { return "PullRequestReviewEvent"; }
+    }
+
+    record PullRequestReviewCommentEvent(String id, String repo, String createdAt, String number) implements GhEvent {
+        public String type() { return "PullRequestReviewCommentEvent"; }
+    }
+
+    record WatchEvent(String id, String repo, String createdAt) implements GhEvent {
+        public String type() { return "WatchEvent"; }
+    }
+
+    record CreateEvent(String id, String repo, String createdAt, String refType, String ref) implements GhEvent {
+        public String type() { return "CreateEvent"; }
+    }
+
+    record DeleteEvent(String id, String repo, String createdAt, String refType, String ref) implements GhEvent {
+        public String type() { return "DeleteEvent"; }
+    }
+
+    record ForkEvent(String id, String repo, String createdAt, String forkee) implements GhEvent {
+        public String type() { return "ForkEvent"; }
+    }
+
+    record ReleaseEvent(String id, String repo, String createdAt, String action, String tag) implements GhEvent {
+        public String type() { return "ReleaseEvent"; }
+    }
+
+    record PublicEvent(String id, String repo, String createdAt) implements GhEvent {
+        public String type() { return "PublicEvent"; }
+    }
+
+    record MemberEvent(String id, String repo, String createdAt, String action, String member) implements GhEvent {
+        public String type() { return "MemberEvent"; }
+    }
+
+    record GollumEvent(String id, String repo, String createdAt) implements GhEvent {
+        public String type() { return "GollumEvent"; }
+    }
+
+    record CommitCommentEvent(String id, String repo, String createdAt) implements GhEvent {
+        public String type() { return "CommitCommentEvent"; }
+    }
+
+    /**
+     * Any event type the CLI does not model. {@code payload} holds the payload's
+     * scalar fields, with those of nested objects one level down as
+     * {@code "object.field"} (e.g. {@code "discussion.number"}), for plugin formatters.
+     */
+    record OtherEvent(String id, String type, String repo, String createdAt, Map<String, String> payload) implements GhEvent {
+        @Override
+        public String action() {
+            return payload.get("action");
+        }
+    }
+}
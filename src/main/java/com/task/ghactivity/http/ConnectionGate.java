@@ -0,0 +1,68 @@
+package com.task.ghactivity.http;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Holds back concurrent requests until an {@link java.net.http.HttpClient} has a
+ * connection: java.net.http opens a connection per request that starts before
+ * any connection to the host exists, but multiplexes later ones over the HTTP/2
+ * connection the first one set up. Once any request has had a response the gate
+ * stays open, so a daemon's later invocations never wait. One instance per client.
+ *
+ * <p>The gate does not notice the connection going away: once the client closes
+ * an idle HTTP/2 connection, the next batch of concurrent requests opens one
+ * connection each again, as without the gate.
+ */
+public final class ConnectionGate {
+
+    private boolean connected;
+    /** Completed when the request setting up the connection is answered; null when none is. */
+    private CompletableFuture<Void> leader;
+
+    /**
+     * Called before each send. Returns at once once connected, or for the caller
+     * that gets to set up the connection; the others wait for it, at most {@code max}.
+     */
+    public void await(Duration max) throws InterruptedException {
+        CompletableFuture<Void> first;
+        synchronized (this) {
+            if (connected) return;
+            if (leader == null) {
+                leader = new CompletableFuture<>();
+                return;
+            }
+            first = leader;
+        }
+        try {
+            first.get(max.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException ignore) {
+            // go ahead on a connection of our own
+        }
+    }
+
+    /** A response arrived: the client has a connection, open the gate for good. */
+    public void connected() {
+        CompletableFuture<Void> first;
+        synchronized (this) {
+            if (connected) return;
+            connected = true;
+            first = leader;
+            leader = null;
+        }
+        if (first != null) first.complete(null);
+    }
+
+    /** A send failed: release whoever waits on it; the next caller sets up the connection. */
+    public void failed() {
+        CompletableFuture<Void> first;
+        synchronized (this) {
+            first = leader;
+            leader = null;
+        }
+        if (first != null) first.complete(null);
+    }
+}
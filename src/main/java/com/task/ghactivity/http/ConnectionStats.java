@@ -0,0 +1,64 @@
+package com.task.ghactivity.http;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TLS sessions behind the responses of a run. java.net.http does not expose its
+ * connections, so responses are grouped by TLS session id: a full handshake
+ * yields a new one, and every response over the same connection reports it
+ * again. A resumed session on a new socket reports a known id too, so this counts
+ * sessions, not connections. Ids seen earlier in this JVM (an earlier daemon
+ * invocation) count as known. Plain-HTTP responses only count as responses.
+ */
+public final class ConnectionStats {
+
+    private static final int KNOWN_SESSIONS = 256;
+
+    /** Recent TLS session ids, oldest first. */
+    private static final Set<String> known = Collections.synchronizedSet(Collections.newSetFromMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > KNOWN_SESSIONS;
+                }
+            }));
+
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder http2 = new LongAdder();
+    private final LongAdder newSessions = new LongAdder();
+    private final LongAdder knownSessions = new LongAdder();
+
+    /** Responses on a TLS session first seen with them (a full handshake). */
+    public long newSessions() { return newSessions.sum(); }
+    /** Responses on a session seen before: the same connection, or one resumed. */
+    public long knownSessions() { return knownSessions.sum(); }
+
+    public void record(HttpResponse<?> resp) {
+        responses.increment();
+        if (resp.version() == HttpClient.Version.HTTP_2) http2.increment();
+        resp.sslSession().ifPresent(session -> {
+            String id = HexFormat.of().formatHex(session.getId());
+            if (id.isEmpty()) return;
+            if (known.add(id)) newSessions.increment();
+            else knownSessions.increment();
+        });
+    }
+
+    /** e.g. "6 responses (6 over HTTP/2): 1 on a new TLS session, 5 on known sessions". */
+    public String summary() {
+        long total = responses.sum(), h2 = http2.sum();
+        String s = total + " response" + (total == 1 ? "" : "s") + " (" + h2 + " over HTTP/2)";
+        if (newSessions() + knownSessions() > 0) {
+            s += ": " + newSessions() + " on " + (newSessions() == 1 ? "a new TLS session" : "new TLS sessions")
+                    + ", " + knownSessions() + " on known sessions";
+        }
+        return s;
+    }
+}
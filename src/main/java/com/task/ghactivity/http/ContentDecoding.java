@@ -0,0 +1,43 @@
+package com.task.ghactivity.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@code Content-Encoding} support for java.net.http, which neither advertises
+ * nor decodes compressed bodies on its own. Bodies are decompressed as a stream
+ * so the JSON parser still sees the first event before the transfer completes.
+ */
+public final class ContentDecoding {
+
+    /** Value for the request's {@code Accept-Encoding} header. */
+    public static final String ACCEPT = "gzip, deflate";
+
+    private static final int BUFFER = 8192;
+
+    private ContentDecoding() {}
+
+    /**
+     * Wraps {@code raw} to undo the response's {@code Content-Encoding}, counting
+     * wire and decoded bytes in {@code stats}. Unknown encodings pass through.
+     */
+    public static InputStream decode(HttpHeaders headers, InputStream raw, TransferStats stats) throws IOException {
+        InputStream wire = stats.countWire(raw);
+        String encoding = headers.firstValue("Content-Encoding").orElse("identity").trim().toLowerCase();
+        InputStream decoded = switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(wire, BUFFER);
+            case "deflate" -> new InflaterInputStream(wire, new Inflater(), BUFFER) {
+                @Override
+                public void close() throws IOException {
+                    try { super.close(); } finally { inf.end(); } // we own this Inflater
+                }
+            };
+            default -> wire;
+        };
+        return stats.countBody(decoded);
+    }
+}
@@ -0,0 +1,195 @@
+package com.task.ghactivity.http;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+/**
+ * On-disk cache of GET responses for conditional requests. Each entry is a body
+ * file plus a small properties file with the validators ({@code ETag},
+ * {@code Last-Modified}) and the {@code Link} header, keyed by a hash of the URL
+ * and the token so responses fetched with different credentials never mix.
+ *
+ * <p>The cache is best effort: any failure to write an entry is swallowed and
+ * simply leaves the previous entry (or none) in place.
+ */
+public final class HttpCache {
+
+    /** A stored response; {@link #body()} stays valid until the entry is replaced. */
+    public record Entry(Path body, String etag, String lastModified, String link) {
+
+        /** Adds {@code If-None-Match}/{@code If-Modified-Since} for this entry. */
+        public void addValidators(HttpRequest.Builder b) {
+            if (etag != null) b.header("If-None-Match", etag);
+            if (lastModified != null) b.header("If-Modified-Since", lastModified);
+        }
+
+        public InputStream open() throws IOException {
+            return Files.newInputStream(body);
+        }
+    }
+
+    private final Path dir;
+
+    private HttpCache(Path dir) {
+        this.dir = dir;
+    }
+
+    /** Opens (creating if needed) a cache rooted at {@code dir}. */
+    public static HttpCache open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        return new HttpCache(dir);
+    }
+
+    /** {@code $XDG_CACHE_HOME/github-activity}, falling back to {@code ~/.cache/github-activity}. */
+    public static Path defaultDir() {
+        String xdg = System.getenv("XDG_CACHE_HOME");
+        Path base = xdg != null && !xdg.isBlank() ? Path.of(xdg) : Path.of(System.getProperty("user.home"), ".cache");
+        return base.resolve("github-activity");
+    }
+
+    /** The stored entry for {@code url}, or null when there is none (or it is unreadable). */
+    public Entry get(String url, String token) {
+        String key = key(url, token);
+        Path meta = dir.resolve(key + ".properties");
+        Path body = dir.resolve(key + ".json");
+        if (!Files.isRegularFile(meta) || !Files.isRegularFile(body)) return null;
+        Properties p = new Properties();
+        try (Reader r = Files.newBufferedReader(meta, StandardCharsets.UTF_8)) {
+            p.load(r);
+        } catch (IOException e) {
+            return null;
+        }
+        String etag = p.getProperty("etag");
+        String lastModified = p.getProperty("last-modified");
+        if (etag == null && lastModified == null) return null;
+        return new Entry(body, etag, lastModified, p.getProperty("link"));
+    }
+
+    /**
+     * Wraps a 200 response body so that everything read from it is also written to
+     * the cache. The entry is committed when the stream is closed after being read
+     * to EOF; callers that stop early (e.g. at {@code --limit}) read the rest once
+     * their output is out. A body closed before EOF is not drained here and its
+     * entry is discarded. Responses without validators are returned unwrapped.
+     */
+    public InputStream store(String url, String token, HttpHeaders headers, InputStream body) {
+        String etag = headers.firstValue("ETag").orElse(null);
+        String lastModified = headers.firstValue("Last-Modified").orElse(null);
+        if (etag == null && lastModified == null) return body;
+
+        Properties meta = new Properties();
+        meta.setProperty("url", url);
+        if (etag != null) meta.setProperty("etag", etag);
+        if (lastModified != null) meta.setProperty("last-modified", lastModified);
+        headers.firstValue("Link").ifPresent(link -> meta.setProperty("link", link));
+
+        String key = key(url, token);
+        try {
+            Path tmp = Files.createTempFile(dir, key, ".tmp");
+            return new Tee(body, new BufferedOutputStream(Files.newOutputStream(tmp)), tmp, key, meta);
+        } catch (IOException e) {
+            return body;
+        }
+    }
+
+    private void commit(Path tmp, String key, Properties meta) throws IOException {
+        Files.move(tmp, dir.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Path metaTmp = Files.createTempFile(dir, key, ".tmp");
+        try (Writer w = Files.newBufferedWriter(metaTmp, StandardCharsets.UTF_8)) {
+            meta.store(w, null);
+        }
+        Files.move(metaTmp, dir.resolve(key + ".properties"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String key(String url, String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(url.getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            if (token != null) md.update(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(md.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Copies the response body to a temp file as it is read. */
+    private final class Tee extends FilterInputStream {
+        private final OutputStream copy;
+        private final Path tmp;
+        private final String key;
+        private final Properties meta;
+        private boolean failed;
+        private boolean eof;
+        private boolean closed;
+
+        Tee(InputStream in, OutputStream copy, Path tmp, String key, Properties meta) {
+            super(in);
+            this.copy = copy;
+            this.tmp = tmp;
+            this.key = key;
+            this.meta = meta;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b < 0) eof = true;
+            else write(new byte[]{(byte) b}, 0, 1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = in.read(buf, off, len);
+            if (n < 0) eof = true;
+            else write(buf, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes must still reach the cache file.
+            return Math.max(0, read(new byte[(int) Math.max(0, Math.min(n, 8192))]));
+        }
+
+        private void write(byte[] buf, int off, int len) {
+            if (failed) return;
+            try {
+                copy.write(buf, off, len);
+            } catch (IOException e) {
+                failed = true;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            closed = true;
+            try {
+                copy.close();
+                if (!failed && eof) commit(tmp, key, meta);
+            } catch (IOException e) {
+                failed = true;
+            } finally {
+                Files.deleteIfExists(tmp);
+                in.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.task.ghactivity.http;
+
+import com.task.ghactivity.util.Deadline;
+
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client-side scheduler for GitHub's primary rate limit. Every response's
+ * {@code X-RateLimit-Limit/Remaining/Reset} headers are recorded per token, and
+ * {@link #acquire} is called before each request:
+ * <ul>
+ *   <li>while plenty of quota is left requests go out immediately;</li>
+ *   <li>below {@link #PACE_BELOW} of the limit they are spaced evenly so the rest
+ *       of the quota lasts until the reset;</li>
+ *   <li>with no quota left the caller waits for the reset, if that fits in its
+ *       wait allowance, and gets a {@link RateLimitedException} otherwise.</li>
+ * </ul>
+ * {@link #backoff} tells callers how long to back off after a 403/429 (secondary
+ * limits send {@code Retry-After}).
+ */
+public final class RateLimiter {
+
+    /** Start pacing once less than this fraction of the quota is left. */
+    static final double PACE_BELOW = 0.2;
+
+    /** Thrown when a request would have to wait longer than the caller allows. */
+    public static final class RateLimitedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final Instant reset;
+
+        RateLimitedException(String message, Instant reset) {
+            super(message);
+            this.reset = reset;
+        }
+
+        public Instant reset() { return reset; }
+    }
+
+    private static final class Bucket {
+        long limit = -1;
+        long remaining = -1;
+        long resetEpochSec;
+        long nextSlotNanos;
+    }
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Blocks until a request with {@code token} may be sent. Waits never exceed
+     * {@code maxWait} nor the run's {@code deadline}.
+     */
+    public void acquire(String token, Deadline deadline, Duration maxWait) throws InterruptedException, RateLimitedException {
+        Bucket b = bucket(token);
+        long allowedNanos = deadline.cap(maxWait).toNanos();
+        long waitedNanos = 0;
+        while (true) {
+            long waitNanos;
+            boolean reserved;
+            synchronized (b) {
+                long untilReset = untilReset(b);
+                reserved = untilReset == 0;
+                if (reserved) {
+                    // Pacing only smooths the request rate, so it never fails a request.
+                    waitNanos = Math.min(take(b), Math.max(0, allowedNanos - waitedNanos));
+                } else {
+                    waitNanos = untilReset;
+                }
+                if (!reserved && waitedNanos + waitNanos > allowedNanos) {
+                    Instant reset = Instant.ofEpochSecond(b.resetEpochSec);
+                    throw new RateLimitedException("rate limit exhausted (" + b.remaining + "/" + b.limit
+                            + " left, resets at " + reset + ")", reset);
+                }
+            }
+            if (waitNanos > 0) {
+                Thread.sleep(Duration.ofNanos(waitNanos));
+                waitedNanos += waitNanos;
+            }
+            if (reserved) return;
+        }
+    }
+
+    /** Records the quota reported by a response; responses without the headers are ignored. */
+    public void update(String token, HttpHeaders headers, int status) {
+        OptionalLong remaining = longHeader(headers, "X-RateLimit-Remaining");
+        OptionalLong reset = longHeader(headers, "X-RateLimit-Reset");
+        if (remaining.isEmpty() || reset.isEmpty()) return;
+        Bucket b = bucket(token);
+        synchronized (b) {
+            b.limit = longHeader(headers, "X-RateLimit-Limit").orElse(b.limit);
+            if (reset.getAsLong() != b.resetEpochSec || b.remaining < 0) {
+                b.resetEpochSec = reset.getAsLong();
+                b.remaining = remaining.getAsLong();
+            } else {
+                // Responses to concurrent requests arrive out of order; the lowest
+                // count in the current window is the freshest. 304s are free.
+                long local = b.remaining + (status == 304 ? 1 : 0);
+                b.remaining = Math.min(local, remaining.getAsLong());
+            }
+        }
+    }
+
+    /** Remaining quota last seen for {@code token}, or -1 when unknown. */
+    public long remaining(String token) {
+        Bucket b = buckets.get(key(token));
+        return b == null ? -1 : b.remaining;
+    }
+
+    /**
+     * How long to wait before retrying a rate-limited (403/429) response: the
+     * {@code Retry-After} of a secondary limit, or the time to the primary reset
+     * when the quota is exhausted. Null when the response was not rate limited.
+     */
+    public static Duration backoff(int status, HttpHeaders headers) {
+        if (status != 403 && status != 429) return null;
+        OptionalLong retryAfter = longHeader(headers, "Retry-After");
+        if (retryAfter.isPresent()) return Duration.ofSeconds(Math.max(1, retryAfter.getAsLong()));
+        if (longHeader(headers, "X-RateLimit-Remaining").orElse(-1) == 0) {
+            long reset = longHeader(headers, "X-RateLimit-Reset").orElse(0);
+            return Duration.ofSeconds(Math.max(1, reset - Instant.now().getEpochSecond() + 1));
+        }
+        return status == 429 ? Duration.ofSeconds(60) : null;
+    }
+
+    /** Nanos until the quota resets when it is used up, 0 while requests may go out. */
+    private static long untilReset(Bucket b) {
+        if (b.remaining < 0) return 0; // nothing known yet
+        long nowMs = System.currentTimeMillis();
+        long resetMs = b.resetEpochSec * 1000;
+        if (nowMs >= resetMs) {
+            b.remaining = b.limit; // new window; the next response will confirm
+            return 0;
+        }
+        return b.remaining == 0 ? Duration.ofMillis(resetMs - nowMs + 1000).toNanos() : 0;
+    }
+
+    /** Consumes one unit of quota and returns how long to hold the request to keep pace. */
+    private static long take(Bucket b) {
+        if (b.remaining < 0) return 0;
+        b.remaining--;
+        if (b.limit <= 0 || b.remaining >= b.limit * PACE_BELOW) return 0;
+
+        long now = System.nanoTime();
+        long toReset = Duration.ofMillis(Math.max(0, b.resetEpochSec * 1000 - System.currentTimeMillis())).toNanos();
+        long interval = toReset / (b.remaining + 1);
+        long slot = Math.max(now, b.nextSlotNanos);
+        b.nextSlotNanos = slot + interval;
+        return slot - now;
+    }
+
+    private Bucket bucket(String token) {
+        return buckets.computeIfAbsent(key(token), k -> new Bucket());
+    }
+
+    private static String key(String token) {
+        return token == null || token.isBlank() ? "" : token;
+    }
+
+    private static OptionalLong longHeader(HttpHeaders headers, String name) {
+        return headers.firstValue(name).map(v -> {
+            try {
+                return OptionalLong.of(Long.parseLong(v.trim()));
+            } catch (NumberFormatException e) {
+                return OptionalLong.empty();
+            }
+        }).orElse(OptionalLong.empty());
+    }
+}
@@ -0,0 +1,97 @@
+package com.task.ghactivity.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A read-idle watchdog for response bodies. java.net.http's request timeout only
+ * covers the wait for the headers, so a server that stalls mid-body would block
+ * the reader for good. Here a read that gets no bytes for {@code timeout} has
+ * the body closed under it and fails with an {@link HttpTimeoutException}. Time
+ * spent outside reads (the caller parsing or printing) does not count.
+ */
+public final class ReadTimeout extends FilterInputStream {
+
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "read-timeout");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Duration timeout;
+    /** When the current read started; 0 between reads. */
+    private volatile long readingSince;
+    private volatile boolean timedOut;
+    private volatile boolean closed;
+
+    public ReadTimeout(InputStream in, Duration timeout) {
+        super(in);
+        this.timeout = timeout;
+        schedule(timeout.toNanos());
+    }
+
+    @Override
+    public int read() throws IOException {
+        begin();
+        try {
+            return in.read();
+        } catch (IOException e) {
+            throw timedOut ? stalled() : e;
+        } finally {
+            readingSince = 0;
+        }
+    }
+
+    @Override
+    public int read(byte[] buf, int off, int len) throws IOException {
+        begin();
+        try {
+            return in.read(buf, off, len);
+        } catch (IOException e) {
+            throw timedOut ? stalled() : e;
+        } finally {
+            readingSince = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        super.close();
+    }
+
+    private void begin() throws IOException {
+        if (timedOut) throw stalled();
+        readingSince = System.nanoTime();
+    }
+
+    private HttpTimeoutException stalled() {
+        return new HttpTimeoutException("response stalled: no data for " + timeout.toSeconds() + "s");
+    }
+
+    private void schedule(long delayNanos) {
+        WATCHDOG.schedule(this::check, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void check() {
+        if (closed) return;
+        long since = readingSince;
+        long idle = since == 0 ? 0 : System.nanoTime() - since;
+        if (idle < timeout.toNanos()) {
+            schedule(timeout.toNanos() - idle);
+            return;
+        }
+        timedOut = true;
+        try {
+            in.close(); // wakes the blocked read
+        } catch (IOException ignore) {
+            // the read fails either way
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.task.ghactivity.http;
+
+import com.task.ghactivity.util.Deadline;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.UnresolvedAddressException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.net.ssl.SSLException;
+
+/**
+ * Retries for transient failures (connection resets, timeouts, 502/503/504) with
+ * "full jitter" exponential backoff: the n-th retry sleeps a random time in
+ * {@code [0, min(MAX_DELAY, BASE_DELAY * 2^n))}.
+ *
+ * <p>On top of the per-request limit a run-wide retry budget applies: every
+ * request earns a tenth of a retry and every retry spends one, starting from
+ * {@link #INITIAL_RETRIES}. When many requests fail at once (GitHub having a
+ * bad minute) the budget drains and the failures surface instead of being
+ * multiplied into a retry storm. One instance is shared by all requests of a run.
+ */
+public final class RetryPolicy {
+
+    static final Duration BASE_DELAY = Duration.ofMillis(250);
+    static final Duration MAX_DELAY = Duration.ofSeconds(8);
+    static final int INITIAL_RETRIES = 3;
+
+    /** Budget is kept in tenths of a retry. */
+    private static final int RETRY_COST = 10;
+    private static final int MAX_BUDGET = 10 * RETRY_COST;
+
+    private final int maxRetries;
+    private final AtomicInteger budget = new AtomicInteger(INITIAL_RETRIES * RETRY_COST);
+
+    /** @param maxRetries retries per request on top of the first attempt; 0 disables retrying */
+    public RetryPolicy(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    public static boolean isRetryable(int status) {
+        return status == 502 || status == 503 || status == 504;
+    }
+
+    /**
+     * Whether a failed send is worth retrying. Only failures of the connection
+     * are: timeouts (unless the run budget ran out), refused or reset connections,
+     * and a connection or HTTP/2 stream closed early, which java.net.http reports
+     * as EOF or a plain IOException. TLS and certificate errors, unknown hosts,
+     * malformed responses and rate-limit refusals fail fast: retrying cannot fix them.
+     */
+    public static boolean isRetryable(IOException e, Deadline deadline) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SSLException || t instanceof UnknownHostException
+                    || t instanceof UnresolvedAddressException || t instanceof ProtocolException) return false;
+        }
+        if (e instanceof HttpTimeoutException) return !deadline.expired();
+        return e instanceof SocketException || e instanceof EOFException || e instanceof ClosedChannelException
+                || e.getClass() == IOException.class;
+    }
+
+    /** Called once per request sent; refills the run-wide budget a little. */
+    public void recordRequest() {
+        budget.getAndUpdate(b -> Math.min(MAX_BUDGET, b + 1));
+    }
+
+    /**
+     * Delay before retry number {@code retry} (0-based), or null when the request
+     * should not be retried: out of per-request retries, out of run-wide budget, or
+     * the delay would run past {@code deadline}.
+     */
+    public Duration nextDelay(int retry, Deadline deadline) {
+        if (retry >= maxRetries) return null;
+        long ceiling = Math.min(MAX_DELAY.toMillis(), BASE_DELAY.toMillis() << Math.min(retry, 20));
+        Duration delay = Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        if (delay.compareTo(deadline.remaining()) >= 0) return null;
+        if (budget.getAndUpdate(b -> b >= RETRY_COST ? b - RETRY_COST : b) < RETRY_COST) return null;
+        return delay;
+    }
+}
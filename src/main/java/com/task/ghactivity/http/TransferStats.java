@@ -0,0 +1,67 @@
+package com.task.ghactivity.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Byte counters for response bodies: what came over the wire (possibly
+ * compressed) versus what was handed to the JSON parser. Shared by all
+ * requests of a run.
+ */
+public final class TransferStats {
+
+    private final LongAdder wireBytes = new LongAdder();
+    private final LongAdder bodyBytes = new LongAdder();
+
+    public long wireBytes() { return wireBytes.sum(); }
+    public long bodyBytes() { return bodyBytes.sum(); }
+
+    InputStream countWire(InputStream in) { return new Counting(in, wireBytes); }
+    InputStream countBody(InputStream in) { return new Counting(in, bodyBytes); }
+
+    /** e.g. "received 41.2 KB (318.6 KB uncompressed, 87% saved)". */
+    public String summary() {
+        long wire = wireBytes(), body = bodyBytes();
+        String s = "received " + kb(wire);
+        if (body > wire && body > 0) {
+            s += " (" + kb(body) + " uncompressed, " + (100 * (body - wire) / body) + "% saved)";
+        }
+        return s;
+    }
+
+    private static String kb(long bytes) {
+        return String.format("%.1f KB", bytes / 1024.0);
+    }
+
+    private static final class Counting extends FilterInputStream {
+        private final LongAdder counter;
+
+        Counting(InputStream in, LongAdder counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) counter.increment();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = in.read(buf, off, len);
+            if (n > 0) counter.add(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            if (skipped > 0) counter.add(skipped);
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.task.ghactivity.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * One attempt at a GET to the GitHub API. Retried attempts end when their
+ * response is discarded; the final one when its body is closed, so the event
+ * covers the transfer as well (in the single-page path that overlaps the
+ * {@link ParseEvent} consuming the body).
+ */
+@Name("com.task.ghactivity.Fetch")
+@Label("API Request")
+@Category({"GitHub Activity", "HTTP"})
+@Description("A request to the GitHub API, from sending it until its body was closed")
+@StackTrace(false)
+public final class FetchEvent extends Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Attempt")
+    @Description("0 for the first try, then one more per retry or rate-limit wait")
+    public int attempt;
+
+    @Label("Status")
+    @Description("HTTP status, 0 when the request failed without a response")
+    public int status;
+
+    @Label("Cache Hit")
+    @Description("A 304 answered from the local cache")
+    public boolean cacheHit;
+
+    @Label("Bytes")
+    @Description("Body bytes received over the wire, before decompression")
+    @DataAmount
+    public long bytes;
+
+    @Label("Time to Headers")
+    @Timespan
+    public long timeToHeaders;
+
+    private transient long startNanos; // not recorded
+
+    /** Starts the clock; call right before sending. */
+    public void start() {
+        startNanos = System.nanoTime();
+        begin();
+    }
+
+    /** Marks the response headers as received. */
+    public void headers(int status) {
+        this.status = status;
+        this.timeToHeaders = System.nanoTime() - startNanos;
+    }
+
+    /**
+     * {@code body}, counting into {@link #bytes} and committing this event once
+     * it is closed; {@code body} itself while no recording wants the event.
+     */
+    public InputStream track(InputStream body) {
+        if (!isEnabled()) return body;
+        return new FilterInputStream(body) {
+            private boolean done;
+
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                if (b >= 0) bytes++;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buf, int off, int len) throws IOException {
+                int n = in.read(buf, off, len);
+                if (n > 0) bytes += n;
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = in.skip(n);
+                if (skipped > 0) bytes += skipped;
+                return skipped;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!done) {
+                        done = true;
+                        commit();
+                    }
+                }
+            }
+        };
+    }
+}
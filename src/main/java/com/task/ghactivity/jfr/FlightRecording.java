@@ -0,0 +1,81 @@
+package com.task.ghactivity.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * {@code --jfr FILE}: a JDK Flight Recorder recording with the JDK's
+ * {@code default} settings (low overhead) plus the CLI's own events.
+ *
+ * <p>The launchers start it before anything else via {@link #startAtLaunch}, so
+ * JVM and Spring startup are in the recording too, and it is written when the
+ * JVM exits. An invocation whose file is not being recorded already (one
+ * served by a daemon, for instance) records just itself with {@link #start}
+ * and {@link #stop}.
+ */
+public final class FlightRecording {
+
+    /** Where the launch recording goes, if there is one. */
+    private static volatile Path launchFile;
+
+    private final Recording recording;
+
+    private FlightRecording(Recording recording) {
+        this.recording = recording;
+    }
+
+    /** Starts recording to {@code file}; {@link #stop()} writes it. */
+    public static FlightRecording start(Path file) throws IOException {
+        Configuration settings;
+        try {
+            settings = Configuration.getConfiguration("default");
+        } catch (ParseException e) {
+            throw new IOException("cannot read the JFR default settings", e);
+        }
+        Recording r = new Recording(settings);
+        r.setName("github-activity");
+        r.setDestination(file);
+        r.setDumpOnExit(true); // also written if the run ends in System.exit
+        r.enable(FetchEvent.class);
+        r.enable(ParseEvent.class);
+        r.enable(RenderEvent.class);
+        r.start();
+        return new FlightRecording(r);
+    }
+
+    /**
+     * For {@code main}: starts the recording if {@code args} ask for one, written
+     * at JVM exit. Returns whether one was started; if it could not be, the
+     * invocation's own attempt reports why.
+     */
+    public static boolean startAtLaunch(String[] args) {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if ("--jfr".equals(args[i])) {
+                try {
+                    Path file = Path.of(args[i + 1]);
+                    start(file);
+                    launchFile = file.toAbsolutePath();
+                    return true;
+                } catch (IOException | RuntimeException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Whether this JVM has been recording to {@code file} since launch. */
+    public static boolean launchedTo(Path file) {
+        return file.toAbsolutePath().equals(launchFile);
+    }
+
+    /** Stops recording and writes the file. */
+    public void stop() {
+        recording.stop();
+        recording.close();
+    }
+}
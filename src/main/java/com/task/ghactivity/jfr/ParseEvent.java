@@ -0,0 +1,27 @@
+package com.task.ghactivity.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Binding one page of events from its body. Parsing streams, so the time also
+ * includes waiting for body bytes; in the single-page path, where each event
+ * is printed as soon as it is read, it includes the nested {@link RenderEvent}s.
+ */
+@Name("com.task.ghactivity.Parse")
+@Label("Parse Page")
+@Category("GitHub Activity")
+@Description("Events bound from one page of an API response")
+@StackTrace(false)
+public final class ParseEvent extends Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Events")
+    public int events;
+}
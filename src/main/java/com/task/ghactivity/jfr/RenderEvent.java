@@ -0,0 +1,23 @@
+package com.task.ghactivity.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Rendering a batch of events to the output: the merged pages of a multi-page
+ * run, the new events of a watch poll, or a single event printed as it is parsed.
+ */
+@Name("com.task.ghactivity.Render")
+@Label("Render Events")
+@Category("GitHub Activity")
+@Description("A batch of events rendered to the output")
+@StackTrace(false)
+public final class RenderEvent extends Event {
+
+    @Label("Events")
+    public int events;
+}
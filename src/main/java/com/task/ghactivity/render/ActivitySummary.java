@@ -0,0 +1,87 @@
+package com.task.ghactivity.render;
+
+import com.task.ghactivity.event.GhEvent;
+import com.task.ghactivity.util.Ansi;
+
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running totals for {@code --summary}: events per type, repo and action,
+ * commits pushed and the time span covered. Events are folded in as they are
+ * parsed and not kept, so memory grows with the number of distinct keys only.
+ * Actions are the ones the event lines show ("merged" for a merged PR's
+ * "closed"). Not thread-safe.
+ */
+public final class ActivitySummary {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final Map<String, Integer> byType = new HashMap<>();
+    private final Map<String, Integer> byRepo = new HashMap<>();
+    private final Map<String, Integer> byAction = new HashMap<>();
+    private int events;
+    private long commits;
+    private String first;
+    private String last;
+
+    public void add(GhEvent ev) {
+        events++;
+        byType.merge(ev.type(), 1, Integer::sum);
+        byRepo.merge(ev.repo(), 1, Integer::sum);
+        String action = ev instanceof GhEvent.PullRequestEvent pr ? pr.outcome() : ev.action();
+        if (action != null && !action.isEmpty()) byAction.merge(action, 1, Integer::sum);
+        if (ev instanceof GhEvent.PushEvent push) commits += push.commits();
+
+        // GitHub's timestamps are fixed-width ISO-8601 in UTC, so they order as text.
+        String ts = ev.createdAt();
+        if (!ts.isEmpty()) {
+            if (first == null || ts.compareTo(first) < 0) first = ts;
+            if (last == null || ts.compareTo(last) > 0) last = ts;
+        }
+    }
+
+    /** Events added so far. */
+    public int events() {
+        return events;
+    }
+
+    /** Writes the totals, each breakdown sorted by count (highest first), then name; returns the lines written. */
+    public int print(PrintStream out, boolean useColor) {
+        StringBuilder sb = new StringBuilder(512);
+        Line line = new Line(sb, useColor);
+        line.colored(events, Ansi.CYAN).text(events == 1 ? " event" : " events");
+        if (first != null) {
+            sb.append(" from ");
+            line.on(Ansi.DIM);
+            Line.timestamp(sb, first);
+            line.off().text(" to ").on(Ansi.DIM);
+            Line.timestamp(sb, last);
+            line.off();
+        }
+        sb.append(NEWLINE);
+        line.text("Commits pushed: ").colored(Long.toString(commits), Ansi.CYAN).text(NEWLINE);
+        int lines = 2;
+        lines += section(line, "By type", byType);
+        lines += section(line, "By repo", byRepo);
+        lines += section(line, "By action", byAction);
+        out.print(sb);
+        return lines;
+    }
+
+    /** Writes one breakdown, after a blank line; returns the lines written. */
+    private static int section(Line line, String title, Map<String, Integer> counts) {
+        if (counts.isEmpty()) return 0;
+        int width = 0;
+        for (String k : counts.keySet()) width = Math.max(width, k.length());
+        line.text(NEWLINE).bold(title).text(NEWLINE);
+        for (Map.Entry<String, Integer> e : counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .toList()) {
+            line.text("  ").text(e.getKey()).text(" ".repeat(width - e.getKey().length() + 2))
+                    .colored(e.getValue(), Ansi.CYAN).text(NEWLINE);
+        }
+        return counts.size() + 2;
+    }
+}
@@ -0,0 +1,82 @@
+package com.task.ghactivity.render;
+
+import com.task.ghactivity.event.GhEvent;
+import com.task.ghactivity.util.Ansi;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/** The formatters for every event type {@link GhEvent} models, plus the generic fallback. */
+final class BuiltinFormatters {
+
+    /** A formatter for the record type {@code cls}; records are named after the API's event types. */
+    private record Builtin<E extends GhEvent>(Class<E> cls, BiConsumer<E, Line> body) implements EventFormatter {
+        @Override
+        public String type() {
+            return cls.getSimpleName();
+        }
+
+        @Override
+        public void format(GhEvent ev, Line line) {
+            body.accept(cls.cast(ev), line);
+        }
+    }
+
+    /** "- SomeEvent in REPO (TIME)" for types nobody formats. */
+    static final EventFormatter GENERIC = new EventFormatter() {
+        @Override
+        public String type() {
+            return "Event";
+        }
+
+        @Override
+        public void format(GhEvent ev, Line line) {
+            line.text("- ").text(ev.type()).in(ev);
+        }
+    };
+
+    static final List<EventFormatter> ALL = List.of(
+            new Builtin<>(GhEvent.PushEvent.class, (e, l) -> l
+                    .text("- Pushed ").colored(e.commits(), Ansi.CYAN)
+                    .text(e.commits() == 1 ? " commit" : " commits").text(" to ").bold(e.repo()).time(e)),
+            new Builtin<>(GhEvent.IssuesEvent.class, (e, l) -> l
+                    .verb(or(e.action(), "acted on")).text(" issue ").number(e.number()).in(e)),
+            new Builtin<>(GhEvent.IssueCommentEvent.class, (e, l) -> l
+                    .verb(or(e.action(), "commented")).text(" on issue ").number(e.number()).in(e)),
+            new Builtin<>(GhEvent.PullRequestEvent.class, (e, l) -> l
+                    .verb(or(e.outcome(), "acted on")).text(" pull request ").number(e.number()).in(e)),
+            new Builtin<>(GhEvent.PullRequestReviewEvent.class, (e, l) -> l
+                    .verb(or(e.action(), "reviewed")).text(" PR ").number(e.number()).in(e)),
+            new Builtin<>(GhEvent.PullRequestReviewCommentEvent.class, (e, l) -> l
+                    .text("- Commented on PR ").number(e.number()).in(e)),
+            new Builtin<>(GhEvent.WatchEvent.class, (e, l) -> l
+                    .text("- Starred ").bold(e.repo()).time(e)),
+            new Builtin<>(GhEvent.CreateEvent.class, (e, l) -> l
+                    .text("- Created ").colored(or(e.refType(), "thing"), Ansi.GREEN).text(' ')
+                    .bold(or(e.ref(), e.repo())).in(e)),
+            new Builtin<>(GhEvent.DeleteEvent.class, (e, l) -> {
+                String refType = or(e.refType(), "thing");
+                String ref = or(e.ref(), "");
+                l.text("- Deleted ").on(Ansi.YELLOW).text(refType);
+                if (!ref.isEmpty()) l.text(refType.isEmpty() ? "" : " ").text(ref);
+                l.off().in(e);
+            }),
+            new Builtin<>(GhEvent.ForkEvent.class, (e, l) -> l
+                    .text("- Forked ").bold(e.repo()).text(" to ").bold(or(e.forkee(), "a fork")).time(e)),
+            new Builtin<>(GhEvent.ReleaseEvent.class, (e, l) -> l
+                    .verb(or(e.action(), "published")).text(' ').colored(or(e.tag(), "a release"), Ansi.CYAN).in(e)),
+            new Builtin<>(GhEvent.PublicEvent.class, (e, l) -> l
+                    .text("- Open-sourced ").bold(e.repo()).time(e)),
+            new Builtin<>(GhEvent.MemberEvent.class, (e, l) -> l
+                    .verb(or(e.action(), "changed")).text(" collaborator ").colored(or(e.member(), "a member"), Ansi.CYAN).in(e)),
+            new Builtin<>(GhEvent.GollumEvent.class, (e, l) -> l
+                    .text("- Updated wiki").in(e)),
+            new Builtin<>(GhEvent.CommitCommentEvent.class, (e, l) -> l
+                    .text("- Commented on a commit").in(e)));
+
+    private BuiltinFormatters() {}
+
+    private static String or(String value, String fallback) {
+        return value != null ? value : fallback;
+    }
+}
@@ -0,0 +1,22 @@
+package com.task.ghactivity.render;
+
+import com.task.ghactivity.event.GhEvent;
+
+/**
+ * Renders one GitHub event type. Implementations listed in
+ * {@code META-INF/services/com.task.ghactivity.render.EventFormatter} on the
+ * class path are picked up by {@link EventRenderer} and replace the built-in
+ * formatter of the same {@link #type()}, so new event types, or different
+ * wording for known ones, need no fork.
+ *
+ * <p>Types the CLI does not model arrive as {@link GhEvent.OtherEvent}, with the
+ * payload's scalar fields in {@link GhEvent.OtherEvent#payload()}.
+ */
+public interface EventFormatter {
+
+    /** The event type as sent by the API, e.g. "SponsorshipEvent". */
+    String type();
+
+    /** Appends the line for {@code ev}, without a line separator. */
+    void format(GhEvent ev, Line line);
+}
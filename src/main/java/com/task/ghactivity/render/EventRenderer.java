@@ -0,0 +1,116 @@
+package com.task.ghactivity.render;
+
+import com.task.ghactivity.event.GhEvent;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Renders events as one-line summaries through the {@link EventFormatter}
+ * registered for their type: the built-in ones, replaced or extended by any
+ * found with {@link ServiceLoader}. The formatter for each modeled record type
+ * is resolved once per class; only types the CLI does not model are looked up
+ * by name per event.
+ *
+ * <p>Lines are appended to a reused {@link StringBuilder} and {@link #println}
+ * encodes them into a reused byte buffer, so printing an event allocates
+ * nothing once the buffers have grown to the longest line. Not thread-safe:
+ * use one instance per output stream.
+ */
+public final class EventRenderer {
+
+    private static final String NEWLINE = System.lineSeparator();
+
+    /** Formatters by API event type; plugins override built-ins. */
+    private static final Map<String, EventFormatter> BY_TYPE = load();
+
+    /** Record classes are named after the event types they model. */
+    private static final ClassValue<EventFormatter> BY_CLASS = new ClassValue<>() {
+        @Override
+        protected EventFormatter computeValue(Class<?> cls) {
+            return BY_TYPE.get(cls.getSimpleName());
+        }
+    };
+
+    private final StringBuilder sb = new StringBuilder(160);
+    private final Line line;
+    private byte[] bytes = new byte[256];
+
+    public EventRenderer(boolean useColor) {
+        this.line = new Line(sb, useColor);
+    }
+
+    /** The line for {@code ev}, without a line separator. */
+    public String describe(GhEvent ev) {
+        sb.setLength(0);
+        render(ev);
+        return sb.toString();
+    }
+
+    /** Writes the line for {@code ev} and a line separator to {@code out}. */
+    public void println(GhEvent ev, PrintStream out) {
+        sb.setLength(0);
+        render(ev);
+        sb.append(NEWLINE);
+        if (StandardCharsets.UTF_8.equals(out.charset())) {
+            int n = encode(sb); // may replace bytes
+            out.write(bytes, 0, n);
+        } else {
+            out.print(sb);
+        }
+    }
+
+    private void render(GhEvent ev) {
+        EventFormatter f = BY_CLASS.get(ev.getClass());
+        if (f == null) f = BY_TYPE.getOrDefault(ev.type(), BuiltinFormatters.GENERIC);
+        f.format(ev, line);
+    }
+
+    private static Map<String, EventFormatter> load() {
+        Map<String, EventFormatter> byType = new HashMap<>();
+        for (EventFormatter f : BuiltinFormatters.ALL) byType.put(f.type(), f);
+        for (ServiceLoader.Provider<EventFormatter> p : ServiceLoader.load(EventFormatter.class).stream().toList()) {
+            try {
+                EventFormatter f = p.get();
+                byType.put(f.type(), f);
+            } catch (ServiceConfigurationError e) {
+                System.err.println("Warning: ignoring event formatter " + p.type().getName() + ": " + e.getMessage());
+            }
+        }
+        return Map.copyOf(byType);
+    }
+
+    /** UTF-8 encodes {@code s} into {@link #bytes}, growing it if needed; returns the length. */
+    private int encode(CharSequence s) {
+        int len = s.length();
+        if (bytes.length < len * 3) bytes = new byte[len * 3];
+        byte[] b = bytes;
+        int n = 0;
+        for (int i = 0; i < len; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                b[n++] = (byte) c;
+            } else if (c < 0x800) {
+                b[n++] = (byte) (0xC0 | c >> 6);
+                b[n++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                b[n++] = (byte) (0xF0 | cp >> 18);
+                b[n++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                b[n++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                b[n++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                b[n++] = '?';
+            } else {
+                b[n++] = (byte) (0xE0 | c >> 12);
+                b[n++] = (byte) (0x80 | c >> 6 & 0x3F);
+                b[n++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,121 @@
+package com.task.ghactivity.render;
+
+import com.task.ghactivity.event.GhEvent;
+import com.task.ghactivity.util.Ansi;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The line being rendered, with the pieces every event line is made of. Colors
+ * are applied only when the output wants them; nothing here allocates.
+ */
+public final class Line {
+
+    private static final DateTimeFormatter TS_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm 'UTC'").withZone(ZoneOffset.UTC);
+
+    private final StringBuilder sb;
+    private final boolean useColor;
+
+    Line(StringBuilder sb, boolean useColor) {
+        this.sb = sb;
+        this.useColor = useColor;
+    }
+
+    public Line text(CharSequence s) {
+        sb.append(s);
+        return this;
+    }
+
+    public Line text(char c) {
+        sb.append(c);
+        return this;
+    }
+
+    public Line text(int i) {
+        sb.append(i);
+        return this;
+    }
+
+    /** {@code s} wrapped in {@code ansi} (one of {@link Ansi}) and a reset. */
+    public Line colored(CharSequence s, String ansi) {
+        return on(ansi).text(s).off();
+    }
+
+    public Line colored(int i, String ansi) {
+        return on(ansi).text(i).off();
+    }
+
+    public Line bold(CharSequence s) {
+        return colored(s, Ansi.BOLD);
+    }
+
+    /** "- Verb": the line's start with {@code action} capitalized. */
+    public Line verb(String action) {
+        sb.append("- ");
+        if (!action.isEmpty()) sb.append(Character.toUpperCase(action.charAt(0))).append(action, 1, action.length());
+        return this;
+    }
+
+    /** "#N" for an issue/PR number, "#?" when unknown. */
+    public Line number(String number) {
+        on(Ansi.CYAN).text('#').text(number != null ? number : "?");
+        return off();
+    }
+
+    /** " in REPO (TIME)", the usual end of a line. */
+    public Line in(GhEvent ev) {
+        sb.append(" in ");
+        return bold(ev.repo()).time(ev);
+    }
+
+    /** " (TIME)" */
+    public Line time(GhEvent ev) {
+        sb.append(" (");
+        on(Ansi.DIM);
+        timestamp(sb, ev.createdAt());
+        return off().text(')');
+    }
+
+    /** Starts a span colored with {@code ansi}; end it with {@link #off()}. */
+    public Line on(String ansi) {
+        if (useColor) sb.append(ansi);
+        return this;
+    }
+
+    public Line off() {
+        if (useColor) sb.append(Ansi.RESET);
+        return this;
+    }
+
+    /** GitHub's "2024-05-01T12:34:56Z" as "2024-05-01 12:34 UTC"; other forms go through java.time. */
+    static void timestamp(StringBuilder sb, String ts) {
+        if (isGitHubTimestamp(ts)) {
+            sb.append(ts, 0, 10).append(' ').append(ts, 11, 16).append(" UTC");
+            return;
+        }
+        if (ts.isEmpty()) return;
+        try {
+            sb.append(TS_FMT.format(Instant.parse(ts)));
+        } catch (Exception e) {
+            sb.append(ts);
+        }
+    }
+
+    private static boolean isGitHubTimestamp(String ts) {
+        if (ts.length() != 20) return false;
+        for (int i = 0; i < 20; i++) {
+            char c = ts.charAt(i);
+            boolean ok = switch (i) {
+                case 4, 7 -> c == '-';
+                case 10 -> c == 'T';
+                case 13, 16 -> c == ':';
+                case 19 -> c == 'Z';
+                default -> c >= '0' && c <= '9';
+            };
+            if (!ok) return false;
+        }
+        return true;
+    }
+}
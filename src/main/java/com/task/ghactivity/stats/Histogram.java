@@ -0,0 +1,60 @@
+package com.task.ghactivity.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A log-linear histogram of durations: each power of two from about 1 µs to
+ * 137 s is split into {@link #SUB_BUCKETS} equal buckets, so bucket bounds are
+ * at most 25% apart at any scale while recording stays a few shifts and one
+ * atomic increment. Longer durations only count towards {@code +Inf}.
+ */
+public final class Histogram {
+
+    static final int SUB_BITS = 2;
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /** 2^10 ns: everything faster shares the first bucket. */
+    static final int MIN_EXP = 10;
+    /** 2^37 ns, about 137 s. */
+    static final int MAX_EXP = 37;
+    /** Finite buckets; index {@code BUCKETS} counts the overflow. */
+    static final int BUCKETS = 1 + (MAX_EXP - MIN_EXP) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS + 1);
+    private final LongAdder sumNanos = new LongAdder();
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(index(nanos));
+        sumNanos.add(nanos);
+    }
+
+    /** The first bucket whose upper bound is at least {@code nanos}. */
+    static int index(long nanos) {
+        long n = nanos - 1; // bounds are inclusive, like Prometheus' le
+        if (n < 1L << MIN_EXP) return 0;
+        int exp = 63 - Long.numberOfLeadingZeros(n);
+        if (exp >= MAX_EXP) return BUCKETS;
+        int sub = (int) (n >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return 1 + (exp - MIN_EXP) * SUB_BUCKETS + sub;
+    }
+
+    /** Inclusive upper bound of finite bucket {@code i}, in nanoseconds. */
+    static long upperBound(int i) {
+        if (i == 0) return 1L << MIN_EXP;
+        int exp = MIN_EXP + (i - 1) / SUB_BUCKETS;
+        int sub = (i - 1) % SUB_BUCKETS;
+        return (1L << exp) + ((long) (sub + 1) << (exp - SUB_BITS));
+    }
+
+    /** Per-bucket counts, the last one being the overflow. Not atomic across buckets. */
+    long[] counts() {
+        long[] c = new long[BUCKETS + 1];
+        for (int i = 0; i < c.length; i++) c[i] = counts.get(i);
+        return c;
+    }
+
+    long sumNanos() {
+        return sumNanos.sum();
+    }
+}
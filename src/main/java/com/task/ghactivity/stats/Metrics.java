@@ -0,0 +1,111 @@
+package com.task.ghactivity.stats;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide metrics for long-running modes ({@code --watch}, {@code --daemon}):
+ * latency histograms per endpoint (and, for requests, per status class) plus
+ * counters for retries, 304s and rate-limit waits. Fed by each run's
+ * {@link RunStats}; rendered in Prometheus text format by {@link #writeTo}.
+ */
+public final class Metrics {
+
+    private static final String PREFIX = "gh_activity_";
+
+    /** Series of one histogram metric, sorted by label values so the output is stable. */
+    private final Map<String, Histogram> fetch = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> parse = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> render = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> notModified = new ConcurrentHashMap<>();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rateLimitWaits = new LongAdder();
+    private final LongAdder rateLimitWaitNanos = new LongAdder();
+
+    /** A response's headers arrived after {@code nanos}; status 0 means the send failed. */
+    public void fetched(String endpoint, int status, long nanos) {
+        String labels = "endpoint=\"" + escape(endpoint) + "\",status=\"" + statusClass(status) + "\"";
+        fetch.computeIfAbsent(labels, k -> new Histogram()).record(nanos);
+        if (status == 304) notModified.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+    }
+
+    public void parsed(String endpoint, long nanos) {
+        parse.computeIfAbsent("endpoint=\"" + escape(endpoint) + "\"", k -> new Histogram()).record(nanos);
+    }
+
+    public void rendered(String endpoint, long nanos) {
+        render.computeIfAbsent("endpoint=\"" + escape(endpoint) + "\"", k -> new Histogram()).record(nanos);
+    }
+
+    public void retried() {
+        retries.increment();
+    }
+
+    public void rateLimitWait(Duration wait) {
+        rateLimitWaits.increment();
+        rateLimitWaitNanos.add(wait.toNanos());
+    }
+
+    /** Everything in Prometheus text exposition format 0.0.4. */
+    public void writeTo(StringBuilder out) {
+        histogram(out, "fetch_seconds", "Time from sending a GitHub API request to its response headers.", fetch);
+        histogram(out, "parse_seconds", "Time binding one page of events, excluding waits for body bytes.", parse);
+        histogram(out, "render_seconds", "Time rendering one batch of events.", render);
+
+        header(out, "not_modified_total", "counter", "Responses that were 304 Not Modified.");
+        notModified.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(e ->
+                out.append(PREFIX).append("not_modified_total{endpoint=\"").append(escape(e.getKey())).append("\"} ")
+                        .append(e.getValue().sum()).append('\n'));
+        counter(out, "retries_total", "Requests retried after a network error or a 502/503/504.", retries.sum());
+        counter(out, "rate_limit_waits_total", "Waits for a rate-limit reset or Retry-After.", rateLimitWaits.sum());
+        header(out, "rate_limit_wait_seconds_total", "counter", "Time spent in rate-limit waits.");
+        out.append(PREFIX).append("rate_limit_wait_seconds_total ").append(seconds(rateLimitWaitNanos.sum())).append('\n');
+    }
+
+    private static void histogram(StringBuilder out, String name, String help, Map<String, Histogram> series) {
+        header(out, name, "histogram", help);
+        for (Map.Entry<String, Histogram> e : series.entrySet()) {
+            String labels = e.getKey();
+            Histogram h = e.getValue();
+            long[] counts = h.counts();
+            long cumulative = 0;
+            for (int i = 0; i < Histogram.BUCKETS; i++) {
+                cumulative += counts[i];
+                out.append(PREFIX).append(name).append("_bucket{").append(labels).append(",le=\"")
+                        .append(seconds(Histogram.upperBound(i))).append("\"} ").append(cumulative).append('\n');
+            }
+            cumulative += counts[Histogram.BUCKETS];
+            out.append(PREFIX).append(name).append("_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                    .append(cumulative).append('\n');
+            out.append(PREFIX).append(name).append("_sum{").append(labels).append("} ")
+                    .append(seconds(h.sumNanos())).append('\n');
+            out.append(PREFIX).append(name).append("_count{").append(labels).append("} ")
+                    .append(cumulative).append('\n');
+        }
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        header(out, name, "counter", help);
+        out.append(PREFIX).append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String statusClass(int status) {
+        return status <= 0 ? "error" : (status / 100) + "xx";
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
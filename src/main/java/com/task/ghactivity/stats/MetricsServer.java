@@ -0,0 +1,66 @@
+package com.task.ghactivity.stats;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@code --metrics-port}: serves {@link Metrics} at {@code /metrics} on the
+ * loopback interface for Prometheus to scrape. Everything else is a 404.
+ */
+public final class MetricsServer implements AutoCloseable {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final Metrics metrics;
+
+    private MetricsServer(HttpServer server, Metrics metrics) {
+        this.server = server;
+        this.metrics = metrics;
+    }
+
+    public static MetricsServer start(int port, Metrics metrics) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        MetricsServer s = new MetricsServer(server, metrics);
+        server.createContext("/", s::handle);
+        server.start();
+        return s;
+    }
+
+    /** The bound address, e.g. "http://127.0.0.1:9464/metrics". */
+    public String url() {
+        InetSocketAddress a = server.getAddress();
+        return "http://" + a.getHostString() + ":" + a.getPort() + "/metrics";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            if (!"/metrics".equals(ex.getRequestURI().getPath())) {
+                ex.sendResponseHeaders(404, -1);
+                return;
+            }
+            StringBuilder sb = new StringBuilder(16 * 1024);
+            metrics.writeTo(sb);
+            byte[] body = sb.toString().getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            boolean head = "HEAD".equals(ex.getRequestMethod());
+            ex.sendResponseHeaders(200, head ? -1 : body.length);
+            if (!head) {
+                try (OutputStream os = ex.getResponseBody()) {
+                    os.write(body);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.task.ghactivity.stats;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Where one run's time went, for {@code --stats}; every figure is also fed to
+ * the process-wide {@link Metrics}. Request, body, parse and
+ * render times are summed over all requests and pages of the run, which may
+ * overlap (pagination, batches), so their sum can exceed the run's wall time.
+ *
+ * <p>java.net.http does not report connection setup, so DNS is timed with a
+ * lookup of its own before the first request (the client then hits the JVM's
+ * address cache), and connect and TLS are part of the first response's time.
+ * Body time is time spent blocked on body bytes; parse time excludes it and
+ * any rendering done while parsing, so it is JSON binding (and decompression).
+ */
+public final class RunStats {
+
+    private final Metrics metrics;
+    /** Endpoint label for {@link #metrics}, e.g. "/users/{user}/events". */
+    private final String endpoint;
+    private final long startNanos = System.nanoTime();
+    private volatile long dnsNanos = -1;
+    private final AtomicLong firstResponseNanos = new AtomicLong(-1);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder ttfbNanos = new LongAdder();
+    private final LongAdder bodyNanos = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+    private final LongAdder parsed = new LongAdder();
+    private final LongAdder printed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder rateLimitWaits = new LongAdder();
+
+    public RunStats(Metrics metrics, String endpoint) {
+        this.metrics = metrics;
+        this.endpoint = endpoint;
+    }
+
+    /** Resolves the host of {@code url}, timing the lookup; failures are left to the request. */
+    public void resolve(String url) {
+        String host = URI.create(url).getHost();
+        if (host == null) return;
+        long t0 = System.nanoTime();
+        try {
+            InetAddress.getAllByName(host);
+            dnsNanos = System.nanoTime() - t0;
+        } catch (IOException e) {
+            // reported by the request itself
+        }
+    }
+
+    /** A response's headers arrived for a request sent at {@code sentNanos}. */
+    public void response(long sentNanos, int status) {
+        long nanos = System.nanoTime() - sentNanos;
+        requests.increment();
+        ttfbNanos.add(nanos);
+        firstResponseNanos.compareAndSet(-1, nanos);
+        if (status == 304) notModified.increment();
+        metrics.fetched(endpoint, status, nanos);
+    }
+
+    /** A request sent at {@code sentNanos} failed without a response. */
+    public void sendFailed(long sentNanos) {
+        metrics.fetched(endpoint, 0, System.nanoTime() - sentNanos);
+    }
+
+    /** A request is about to be retried after a network error or a 5xx. */
+    public void retried() {
+        retries.increment();
+        metrics.retried();
+    }
+
+    /** A request waits {@code wait} for a rate-limit reset or Retry-After before going again. */
+    public void rateLimitWait(Duration wait) {
+        rateLimitWaits.increment();
+        metrics.rateLimitWait(wait);
+    }
+
+    /** {@code wire}, timing the reads that block on it. */
+    public Body body(InputStream wire) {
+        return new Body(wire);
+    }
+
+    /** A page was bound: {@code events} in {@code nanos} of parsing proper. */
+    public void parsed(int events, long nanos) {
+        nanos = Math.max(0, nanos);
+        parsed.add(events);
+        parseNanos.add(nanos);
+        metrics.parsed(endpoint, nanos);
+    }
+
+    /** {@code lines} written to stdout: one per event, or the lines of a {@code --summary}. */
+    public void rendered(int lines, long nanos) {
+        printed.add(lines);
+        renderNanos.add(nanos);
+        metrics.rendered(endpoint, nanos);
+    }
+
+    /**
+     * The run's figures, in a stable order: startup (first invocation of a
+     * process only), times in ms, byte counts, event counts, the rate limit
+     * and the exit code. Unknown values are -1.
+     */
+    public Map<String, Long> snapshot(Startup.Marks startup, long wireBytes, long bodyBytes,
+                                      long rateLimitRemaining, int exitCode) {
+        Map<String, Long> m = new LinkedHashMap<>();
+        if (startup != null) {
+            m.put("jvm_to_main_ms", startup.jvmToMainMs());
+            m.put("spring_ready_ms", startup.springReadyMs());
+        }
+        m.put("total_ms", ms(System.nanoTime() - startNanos));
+        m.put("dns_ms", dnsNanos < 0 ? -1 : ms(dnsNanos));
+        long first = firstResponseNanos.get();
+        m.put("first_response_ms", first < 0 ? -1 : ms(first));
+        m.put("requests", requests.sum());
+        m.put("retries", retries.sum());
+        m.put("not_modified", notModified.sum());
+        m.put("rate_limit_waits", rateLimitWaits.sum());
+        m.put("ttfb_ms", ms(ttfbNanos.sum()));
+        m.put("body_ms", ms(bodyNanos.sum()));
+        m.put("parse_ms", ms(parseNanos.sum()));
+        m.put("render_ms", ms(renderNanos.sum()));
+        m.put("bytes_received", wireBytes);
+        m.put("bytes_uncompressed", bodyBytes);
+        m.put("events_parsed", parsed.sum());
+        m.put("events_printed", printed.sum());
+        m.put("rate_limit_remaining", rateLimitRemaining);
+        m.put("exit_code", (long) exitCode);
+        return m;
+    }
+
+    /** "stats: key=value ..." on one line, logfmt style. */
+    public static String format(Map<String, Long> stats) {
+        StringBuilder sb = new StringBuilder("stats:");
+        stats.forEach((k, v) -> sb.append(' ').append(k).append('=').append(v));
+        return sb.toString();
+    }
+
+    /** One JSON object on one line. Keys are plain identifiers, so nothing needs escaping. */
+    public static String toJson(Map<String, Long> stats) {
+        StringBuilder sb = new StringBuilder("{");
+        stats.forEach((k, v) -> sb.append(sb.length() > 1 ? "," : "").append('"').append(k).append("\":").append(v));
+        return sb.append('}').toString();
+    }
+
+    private static long ms(long nanos) {
+        return Math.round(nanos / 1e6);
+    }
+
+    /** A response body that counts the time its reads spend waiting for bytes. */
+    public final class Body extends FilterInputStream {
+        private long waitNanos;
+
+        private Body(InputStream in) {
+            super(in);
+        }
+
+        /** Time blocked in reads so far. */
+        public long waitNanos() {
+            return waitNanos;
+        }
+
+        @Override
+        public int read() throws IOException {
+            long t0 = System.nanoTime();
+            try {
+                return in.read();
+            } finally {
+                waited(System.nanoTime() - t0);
+            }
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            long t0 = System.nanoTime();
+            try {
+                return in.read(buf, off, len);
+            } finally {
+                waited(System.nanoTime() - t0);
+            }
+        }
+
+        private void waited(long nanos) {
+            waitNanos += nanos;
+            bodyNanos.add(nanos);
+        }
+    }
+}
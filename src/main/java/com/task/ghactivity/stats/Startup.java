@@ -0,0 +1,42 @@
+package com.task.ghactivity.stats;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Wall-clock marks of this process's startup, for {@code --stats}: when
+ * {@code main} was entered and, under Spring, when the context was ready.
+ * They describe the first invocation only; {@link #take()} hands them out once.
+ */
+public final class Startup {
+
+    /** Startup phases in milliseconds; {@code springReadyMs} is -1 without Spring. */
+    public record Marks(long jvmToMainMs, long springReadyMs) {}
+
+    private static volatile long mainMillis = -1;
+    private static volatile long readyMillis = -1;
+    private static volatile boolean spring;
+    private static volatile boolean taken;
+
+    private Startup() {}
+
+    /** Called first thing in {@code main}. */
+    public static void markMain(boolean underSpring) {
+        mainMillis = System.currentTimeMillis();
+        spring = underSpring;
+    }
+
+    /** Called when the application is ready to run, i.e. Spring has refreshed its context. */
+    public static void markReady() {
+        if (readyMillis < 0) readyMillis = System.currentTimeMillis();
+    }
+
+    /** The marks, the first time only; null afterwards or if {@code main} was not marked. */
+    public static synchronized Marks take() {
+        if (taken || mainMillis < 0) return null;
+        taken = true;
+        // java.management is only loaded here, after the run.
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        long springReady = spring && readyMillis >= 0 ? readyMillis - mainMillis : -1;
+        return new Marks(mainMillis - jvmStart, springReady);
+    }
+}
@@ -0,0 +1,65 @@
+package com.task.ghactivity.util;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.time.Duration;
+
+/**
+ * Output for bulk printing: lines collect in a large buffer that is written out
+ * at batch boundaries (explicit {@link #flush()}), when it fills up, and at most
+ * {@link #MAX_DELAY} after being printed, so streamed and watched output still
+ * shows up promptly. {@link System#out} flushes, and writes, once per line, which
+ * dominates dumping thousands of events into a file.
+ */
+public final class BatchedOutput extends PrintStream {
+
+    /** Longest a printed line waits in the buffer. */
+    public static final Duration MAX_DELAY = Duration.ofMillis(100);
+
+    private static final int BUFFER = 64 * 1024;
+
+    private final boolean stdout;
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    public BatchedOutput(OutputStream sink, Charset charset) {
+        this(sink, charset, false);
+    }
+
+    private BatchedOutput(OutputStream sink, Charset charset, boolean stdout) {
+        super(new BufferedOutputStream(sink, BUFFER), false, charset);
+        this.stdout = stdout;
+        this.flusher = Thread.ofVirtual().name("output-flusher").start(() -> {
+            while (!closed) {
+                try {
+                    Thread.sleep(MAX_DELAY);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                flush(); // no write when nothing is buffered
+            }
+        });
+    }
+
+    /** The process's stdout, bypassing {@link System#out}'s per-line flushing. */
+    public static BatchedOutput stdout() {
+        return new BatchedOutput(new FileOutputStream(FileDescriptor.out), System.out.charset(), true);
+    }
+
+    /** Whether this writes to the process's own stdout (which may be a terminal). */
+    public boolean isStdout() {
+        return stdout;
+    }
+
+    /** Flushes and stops the timer. The sink stays open: it may be fd 1. */
+    @Override
+    public void close() {
+        closed = true;
+        flusher.interrupt();
+        flush();
+    }
+}
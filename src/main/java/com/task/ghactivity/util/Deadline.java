@@ -0,0 +1,40 @@
+package com.task.ghactivity.util;
+
+import java.time.Duration;
+
+/** A point in (monotonic) time by which the whole run has to be done. */
+public final class Deadline {
+
+    /** No budget: never expires. */
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE);
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public boolean isBounded() {
+        return this != NONE;
+    }
+
+    public boolean expired() {
+        return isBounded() && System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    /** Time left, never negative; effectively infinite for {@link #NONE}. */
+    public Duration remaining() {
+        if (!isBounded()) return Duration.ofNanos(Long.MAX_VALUE);
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    /** {@code d}, shortened so it does not run past this deadline. */
+    public Duration cap(Duration d) {
+        Duration left = remaining();
+        return left.compareTo(d) < 0 ? left : d;
+    }
+}
@@ -0,0 +1,58 @@
+package com.task.ghactivity.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal parser for GitHub's pagination {@code Link} header, e.g.
+ * {@code <https://api.github.com/...&page=2>; rel="next", <...&page=3>; rel="last"}.
+ */
+public final class LinkHeader {
+
+    private static final Pattern LINK = Pattern.compile("<([^>]+)>\\s*;\\s*rel=\"([^\"]+)\"");
+    private static final Pattern PAGE = Pattern.compile("([?&]page=)(\\d+)");
+
+    private LinkHeader() {}
+
+    /** rel -> URL for every entry of the header; empty for null/blank input. */
+    public static Map<String, String> parse(String header) {
+        Map<String, String> links = new HashMap<>();
+        if (header == null || header.isBlank()) return links;
+        Matcher m = LINK.matcher(header);
+        while (m.find()) {
+            links.put(m.group(2), m.group(1));
+        }
+        return links;
+    }
+
+    /**
+     * URLs of pages 2..{@code wanted}, capped at the {@code rel="last"} page and
+     * derived from the {@code rel="next"} URL so every query parameter GitHub
+     * sent back is preserved. Empty when the header has no next page.
+     */
+    public static List<String> followingPages(String header, int wanted) {
+        Map<String, String> links = parse(header);
+        String next = links.get("next");
+        List<String> urls = new ArrayList<>();
+        if (next == null) return urls;
+        Matcher nm = PAGE.matcher(next);
+        if (!nm.find()) {
+            urls.add(next);
+            return urls;
+        }
+        int last = wanted;
+        String lastUrl = links.get("last");
+        if (lastUrl != null) {
+            Matcher lm = PAGE.matcher(lastUrl);
+            if (lm.find()) last = Math.min(wanted, Integer.parseInt(lm.group(2)));
+        }
+        for (int page = Integer.parseInt(nm.group(2)); page <= last; page++) {
+            urls.add(next.substring(0, nm.start()) + nm.group(1) + page + next.substring(nm.end()));
+        }
+        return urls;
+    }
+}
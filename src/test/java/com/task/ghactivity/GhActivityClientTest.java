@@ -0,0 +1,98 @@
+package com.task.ghactivity;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The client's fallbacks. Runs that exit 0 only: the in-process run ends in
+ * {@code System.exit} otherwise.
+ */
+class GhActivityClientTest {
+
+    @TempDir
+    Path tmp;
+
+    /** Answers every events request with an empty page. */
+    private HttpServer api;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void start() throws IOException {
+        api = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        api.createContext("/", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        api.start();
+    }
+
+    @AfterEach
+    void stop() {
+        api.stop(0);
+    }
+
+    @Test
+    void runsInProcessWithoutADaemon() throws Exception {
+        String err = client("octocat", "--no-cache", "--socket", tmp.resolve("daemon.sock").toString());
+
+        assertThat(err).isEmpty();
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void ignoresASocketOthersCouldHavePutThere() throws Exception {
+        Path dir = Files.createDirectory(tmp.resolve("run"));
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString("rwxrwxrwx"));
+        Path socket = dir.resolve("daemon.sock");
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+
+            String err = client("octocat", "--no-cache", "--socket", socket.toString());
+
+            assertThat(err).startsWith("Warning: not using the daemon: " + dir + " has permissions rwxrwxrwx");
+        }
+        assertThat(requests).hasValue(1); // run in-process instead
+    }
+
+    /** Runs the client; returns what it wrote to {@link System#err}. */
+    private String client(String... args) throws Exception {
+        String[] argv = new String[args.length + 2];
+        System.arraycopy(args, 0, argv, 0, args.length);
+        argv[args.length] = "--api-url";
+        argv[args.length + 1] = "http://127.0.0.1:" + api.getAddress().getPort();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream saved = System.err;
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+        try {
+            GhActivityClient.main(argv);
+        } finally {
+            System.setErr(saved);
+        }
+        return err.toString(StandardCharsets.UTF_8);
+    }
+}
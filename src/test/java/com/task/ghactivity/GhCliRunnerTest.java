@@ -0,0 +1,448 @@
+package com.task.ghactivity;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.task.ghactivity.event.EventReader;
+import com.task.ghactivity.render.EventRenderer;
+import com.task.ghactivity.stub.GitHubStub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs whole invocations against {@link GitHubStub} and checks exit codes and
+ * output: pagination, the cache, gzip, retries, rate limits, the run budget,
+ * {@code --watch} and {@code --summary}.
+ */
+class GhCliRunnerTest {
+
+    private static final List<String> OCTOCAT = List.of(
+            "- Pushed 2 commits to octocat/Hello-World (2026-10-16 18:42 UTC)",
+            "- Merged pull request #12 in octocat/Spoon-Knife (2026-10-16 16:05 UTC)",
+            "- Opened issue #7 in octocat/Hello-World (2026-10-15 09:12 UTC)",
+            "- Starred octocat/linguist (2026-10-14 21:30 UTC)",
+            "- Created branch feature/search in octocat/Hello-World (2026-10-14 08:00 UTC)",
+            "- Published v1.2.0 in octocat/Hello-World (2026-10-13 12:00 UTC)");
+
+    private record Run(int code, String out, String err) {
+        List<String> lines() {
+            return out.lines().toList();
+        }
+
+        /** The {@code --stats} line as name -> value. */
+        Map<String, Long> stats() {
+            String line = err.lines().filter(l -> l.startsWith("stats: ")).findFirst().orElseThrow();
+            Map<String, Long> stats = new HashMap<>();
+            for (String kv : line.substring("stats: ".length()).split(" ")) {
+                int eq = kv.indexOf('=');
+                stats.put(kv.substring(0, eq), Long.parseLong(kv.substring(eq + 1)));
+            }
+            return stats;
+        }
+    }
+
+    @TempDir
+    Path cacheDir;
+
+    private GitHubStub stub;
+    private GhCliRunner runner;
+
+    @BeforeEach
+    void start() throws IOException {
+        stub = new GitHubStub(0).notFound("ghost");
+        runner = new GhCliRunner();
+    }
+
+    @AfterEach
+    void stop() {
+        stub.close();
+    }
+
+    @Test
+    void printsTheRecordedEvents() throws Exception {
+        Run run = run("octocat", "--no-cache");
+
+        assertThat(run.code()).isZero();
+        assertThat(run.lines()).isEqualTo(OCTOCAT);
+        assertThat(run.err()).isEmpty();
+    }
+
+    @Test
+    void stopsAtTheLimit() throws Exception {
+        Run run = run("octocat", "--no-cache", "--limit", "2");
+
+        assertThat(run.code()).isZero();
+        assertThat(run.lines()).isEqualTo(OCTOCAT.subList(0, 2));
+    }
+
+    @Test
+    void followsPagesInFeedOrder() throws Exception {
+        Run run = run("someone", "--no-cache", "--limit", "300");
+
+        assertThat(run.code()).isZero();
+        assertThat(run.lines()).isEqualTo(rendered(GitHubStub.syntheticEvents(0, 300)));
+        assertThat(stub.requests()).isEqualTo(3);
+    }
+
+    @Test
+    void stopsPagingAtTheEndOfTheFeed() throws Exception {
+        stub.events(150);
+
+        Run run = run("someone", "--no-cache", "--limit", "300");
+
+        assertThat(run.code()).isZero();
+        assertThat(run.lines()).isEqualTo(rendered(GitHubStub.syntheticEvents(0, 150)));
+        assertThat(stub.requests()).isEqualTo(2);
+    }
+
+    @Test
+    void revalidatesCachedPagesWith304s() throws Exception {
+        Run first = run("someone", "--limit", "300", "--cache-dir", cacheDir.toString(), "--stats");
+        Run second = run("someone", "--limit", "300", "--cache-dir", cacheDir.toString(), "--stats");
+
+        assertThat(first.code()).isZero();
+        assertThat(first.stats()).containsEntry("not_modified", 0L);
+        assertThat(second.code()).isZero();
+        assertThat(second.stats()).containsEntry("not_modified", 3L).containsEntry("events_printed", 300L);
+        assertThat(second.out()).isEqualTo(first.out());
+        assertThat(stub.requests()).isEqualTo(6);
+    }
+
+    @Test
+    void cachesAPageCutShortByTheLimit() throws Exception {
+        Run first = run("someone", "--limit", "20", "--cache-dir", cacheDir.toString());
+        Run second = run("someone", "--limit", "20", "--cache-dir", cacheDir.toString(), "--stats");
+
+        assertThat(second.code()).isZero();
+        assertThat(second.stats()).containsEntry("not_modified", 1L);
+        assertThat(second.out()).isEqualTo(first.out());
+        assertThat(second.lines()).isEqualTo(rendered(GitHubStub.syntheticEvents(0, 20)));
+    }
+
+    @Test
+    void decodesGzippedBodies() throws Exception {
+        Run run = run("someone", "--no-cache", "--limit", "300", "--stats");
+
+        assertThat(run.code()).isZero();
+        Map<String, Long> stats = run.stats();
+        assertThat(stats.get("bytes_received")).isPositive().isLessThan(stats.get("bytes_uncompressed") / 4);
+        assertThat(stats).containsEntry("events_parsed", 300L);
+    }
+
+    @Test
+    void readsSlowBodies() throws Exception {
+        stub.drip(256, Duration.ofMillis(1));
+
+        Run run = run("someone", "--no-cache", "--limit", "300");
+
+        assertThat(run.code()).isZero();
+        assertThat(run.lines()).isEqualTo(rendered(GitHubStub.syntheticEvents(0, 300)));
+    }
+
+    @Test
+    void timesOutAStalledBody() throws Exception {
+        stub.drip(200, Duration.ofSeconds(20));
+
+        long start = System.nanoTime();
+        Run run = run("octocat", "--no-cache", "--timeout", "1");
+
+        assertThat(run.code()).isEqualTo(2);
+        assertThat(run.err()).contains("Network error: response stalled: no data for 1s");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void reportsAnUnknownUser() throws Exception {
+        Run run = run("ghost", "--no-cache");
+
+        assertThat(run.code()).isEqualTo(1);
+        assertThat(run.out()).isEmpty();
+        assertThat(run.err()).contains("HTTP 404 from GitHub API. Not Found", "Tip: check if the username is correct.");
+    }
+
+    @Test
+    void retriesServerErrors() throws Exception {
+        stub.serverErrors(1, 2);
+
+        Run run = run("octocat", "--no-cache", "--stats");
+
+        assertThat(run.code()).isZero();
+        assertThat(run.lines()).isEqualTo(OCTOCAT);
+        assertThat(run.stats()).containsEntry("retries", 1L);
+        assertThat(stub.requests()).isEqualTo(2);
+    }
+
+    @Test
+    void reportsServerErrorsWithoutRetries() throws Exception {
+        stub.serverErrors(1, 2);
+
+        Run run = run("octocat", "--no-cache", "--retries", "0");
+
+        assertThat(run.code()).isEqualTo(1);
+        assertThat(run.err()).contains("HTTP 503 from GitHub API. Service Unavailable");
+        assertThat(stub.requests()).isEqualTo(1);
+    }
+
+    @Test
+    void retryBudgetCapsRetriesDuringAnOutage() throws Exception {
+        stub.serverErrors(1, 1);
+
+        Run run = run("octocat", "--no-cache", "--retries", "10");
+
+        assertThat(run.code()).isEqualTo(1);
+        assertThat(run.err()).contains("HTTP 503");
+        // the first attempt plus the run's initial three retries; ten per-request retries are never reached
+        assertThat(stub.requests()).isEqualTo(4);
+    }
+
+    @Test
+    void retriesDroppedConnections() throws Exception {
+        stub.resets(1);
+
+        Run run = run("octocat", "--no-cache", "--retries", "1");
+
+        assertThat(run.code()).isEqualTo(2);
+        assertThat(run.err()).contains("Network error");
+        // two sends, each resent once by java.net.http itself when the connection drops before a response
+        assertThat(stub.requests()).isEqualTo(4);
+    }
+
+    @Test
+    void waitsOutASecondaryRateLimit() throws Exception {
+        // the third request is refused: one of the two later pages
+        stub.secondaryRateLimit(3, Duration.ofSeconds(1));
+
+        Run run = run("someone", "--no-cache", "--limit", "300", "--stats");
+
+        assertThat(run.code()).isZero();
+        assertThat(run.lines()).hasSize(300);
+        assertThat(run.stats()).containsEntry("rate_limit_waits", 1L);
+        assertThat(stub.requests()).isEqualTo(4);
+    }
+
+    @Test
+    void reportsASecondaryRateLimitThatOutlastsMaxWait() throws Exception {
+        stub.secondaryRateLimit(1, Duration.ofSeconds(30));
+
+        Run run = run("octocat", "--no-cache", "--max-wait", "1");
+
+        assertThat(run.code()).isEqualTo(1);
+        assertThat(run.err()).contains("HTTP 403 from GitHub API. You have exceeded a secondary rate limit.");
+        assertThat(stub.requests()).isEqualTo(1);
+    }
+
+    @Test
+    void holdsRequestsUntilAnExhaustedQuotaResets() throws Exception {
+        stub.rateLimit(1, Duration.ofHours(1));
+
+        Run refused = run("octocat", "--no-cache");
+        Run held = run("octocat", "--no-cache");
+
+        assertThat(refused.code()).isEqualTo(1);
+        assertThat(refused.err()).contains("HTTP 403 from GitHub API. API rate limit exceeded.");
+        // the runner remembers the quota, so the second run does not even ask
+        assertThat(held.code()).isEqualTo(1);
+        assertThat(held.err()).contains("GitHub API rate limit exhausted (0/5000 left, resets at ");
+        assertThat(stub.requests()).isEqualTo(1);
+    }
+
+    @Test
+    void budgetCutsASlowRunShort() throws Exception {
+        stub.latency(Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        Run run = run("octocat", "--no-cache", "--budget", "1");
+
+        assertThat(run.code()).isEqualTo(4);
+        assertThat(run.err()).contains("run budget exhausted");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(4));
+    }
+
+    @Test
+    void printsABatchInInputOrder() throws Exception {
+        Run run = run("octocat", "ghost", "someone", "--no-cache", "--limit", "2");
+
+        assertThat(run.code()).isEqualTo(1);
+        List<String> expected = new ArrayList<>();
+        expected.add("== octocat ==");
+        expected.addAll(OCTOCAT.subList(0, 2));
+        expected.add("");
+        expected.add("== ghost ==");
+        expected.add("");
+        expected.add("== someone ==");
+        expected.addAll(rendered(GitHubStub.syntheticEvents(0, 2)));
+        assertThat(run.lines()).isEqualTo(expected);
+        assertThat(run.err()).contains("HTTP 404");
+    }
+
+    @Test
+    void watchPrintsEachNewEventOnceOldestFirst() throws Exception {
+        stub.pollInterval(1);
+
+        CompletableFuture<Run> watching = runAsync("someone", "--watch", "--no-cache", "--limit", "3", "--budget", "3");
+        awaitRequests(1);
+        Thread.sleep(500); // between the first poll and the second
+        stub.publish(2);
+        Run run = watching.get(10, TimeUnit.SECONDS);
+
+        assertThat(run.code()).isZero();
+        // the first poll shows --limit events; later ones only the two published, though each poll gets the whole page
+        List<String> expected = new ArrayList<>(rendered(GitHubStub.syntheticEvents(0, 3)).reversed());
+        expected.addAll(rendered(GitHubStub.syntheticEvents(-2, 2)).reversed());
+        assertThat(run.lines()).isEqualTo(expected);
+    }
+
+    @Test
+    void watchPollsNoFasterThanXPollInterval() throws Exception {
+        stub.pollInterval(2);
+
+        CompletableFuture<Run> watching = runAsync("someone", "--watch", "--no-cache", "--interval", "1", "--budget", "5");
+        long first = awaitRequests(1);
+        long second = awaitRequests(2);
+
+        assertThat(watching.get(10, TimeUnit.SECONDS).code()).isZero();
+        assertThat(Duration.ofNanos(second - first)).isGreaterThan(Duration.ofMillis(1900)); // --interval 1 notwithstanding
+    }
+
+    @Test
+    void watchSkipsParsingUnchangedPolls() throws Exception {
+        stub.pollInterval(1);
+
+        Run run = run("someone", "--watch", "--cache-dir", cacheDir.toString(), "--budget", "3", "--stats");
+
+        assertThat(run.code()).isZero();
+        assertThat(run.lines()).hasSize(20);
+        assertThat(stub.requests()).isGreaterThan(1);
+        // only the first poll's page is parsed; the later ones are 304s
+        assertThat(run.stats()).containsEntry("not_modified", stub.requests() - 1).containsEntry("events_parsed", 100L);
+    }
+
+    @Test
+    void summarizesTheRecordedEvents() throws Exception {
+        Run run = run("octocat", "--no-cache", "--summary", "--stats");
+
+        assertThat(run.code()).isZero();
+        assertThat(run.out()).isEqualTo("""
+                6 events from 2026-10-13 12:00 UTC to 2026-10-16 18:42 UTC
+                Commits pushed: 2
+
+                By type
+                  CreateEvent       1
+                  IssuesEvent       1
+                  PullRequestEvent  1
+                  PushEvent         1
+                  ReleaseEvent      1
+                  WatchEvent        1
+
+                By repo
+                  octocat/Hello-World  4
+                  octocat/Spoon-Knife  1
+                  octocat/linguist     1
+
+                By action
+                  merged     1
+                  opened     1
+                  published  1
+                """.replace("\n", System.lineSeparator()));
+        assertThat(run.stats()).containsEntry("events_parsed", 6L).containsEntry("events_printed", 20L);
+    }
+
+    @Test
+    void summaryDropsEventsRepeatedOnTheNextPage() throws Exception {
+        stub.slide(5); // pages 2 and 3 each start with the last 5 events of the page before
+
+        Run run = run("someone", "--no-cache", "--summary", "--stats");
+
+        assertThat(run.code()).isZero();
+        // events 0..294, a PushEvent of 2 commits every sixth
+        assertThat(run.lines()).startsWith(
+                "295 events from 2024-05-01 07:06 UTC to 2024-05-01 12:00 UTC",
+                "Commits pushed: 100");
+        assertThat(run.stats()).containsEntry("events_parsed", 300L);
+    }
+
+    @Test
+    void summaryLimitKeepsTheNewestEvents() throws Exception {
+        Run run = run("someone", "--no-cache", "--summary", "--limit", "150");
+
+        assertThat(run.code()).isZero();
+        assertThat(run.lines()).startsWith(
+                "150 events from 2024-05-01 09:31 UTC to 2024-05-01 12:00 UTC",
+                "Commits pushed: 50");
+        assertThat(run.lines()).contains("  PushEvent         25", "  merged     25");
+    }
+
+    @Test
+    void rejectsABadNumber() throws Exception {
+        Run run = run("octocat", "--limit", "abc");
+
+        assertThat(run.code()).isEqualTo(64);
+        assertThat(run.err()).contains("--limit takes a number, not 'abc'");
+        assertThat(stub.requests()).isZero();
+    }
+
+    private CompletableFuture<Run> runAsync(String... args) {
+        CompletableFuture<Run> run = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                run.complete(run(args));
+            } catch (Throwable t) {
+                run.completeExceptionally(t);
+            }
+        });
+        return run;
+    }
+
+    /** Waits for the stub to have had {@code n} requests; returns when that was seen. */
+    private long awaitRequests(long n) throws InterruptedException {
+        long giveUp = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (stub.requests() < n && System.nanoTime() - giveUp < 0) Thread.sleep(10);
+        assertThat(stub.requests()).isGreaterThanOrEqualTo(n);
+        return System.nanoTime();
+    }
+
+    private Run run(String... args) throws InterruptedException {
+        String[] argv = Stream.concat(Stream.of(args), Stream.of("--api-url", stub.url())).toArray(String[]::new);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int code;
+        try (PrintStream o = new PrintStream(out, false, StandardCharsets.UTF_8);
+             PrintStream e = new PrintStream(err, false, StandardCharsets.UTF_8)) {
+            code = runner.execute(argv, new ByteArrayInputStream(new byte[0]), o, e);
+        }
+        return new Run(code, out.toString(StandardCharsets.UTF_8), err.toString(StandardCharsets.UTF_8));
+    }
+
+    /** The lines for {@code page}; {@code EventReaderTest} holds these to the original renderer. */
+    private static List<String> rendered(byte[] page) throws IOException {
+        EventReader reader = new EventReader();
+        EventRenderer renderer = new EventRenderer(false);
+        List<String> lines = new ArrayList<>();
+        try (JsonParser p = new JsonFactory().createParser(page)) {
+            p.nextToken();
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                lines.add(renderer.describe(reader.read(p)));
+            }
+        }
+        return lines;
+    }
+}
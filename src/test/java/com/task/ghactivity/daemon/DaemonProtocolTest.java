@@ -0,0 +1,118 @@
+package com.task.ghactivity.daemon;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DaemonProtocolTest {
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void acceptsASocketPrivateToTheUser() throws IOException {
+        Path dir = directory("rwx------");
+        try (ServerSocketChannel server = listen(dir.resolve("daemon.sock"))) {
+            DaemonProtocol.requirePrivate(dir.resolve("daemon.sock"));
+        }
+    }
+
+    @Test
+    void noSocketMeansNoDaemon() throws IOException {
+        Path dir = directory("rwx------");
+
+        assertThatThrownBy(() -> DaemonProtocol.requirePrivate(dir.resolve("daemon.sock")))
+                .isInstanceOf(NoSuchFileException.class);
+    }
+
+    @Test
+    void rejectsADirectoryOthersCanList() throws IOException {
+        Path dir = directory("rwxr-xr-x");
+        try (ServerSocketChannel server = listen(dir.resolve("daemon.sock"))) {
+            assertThatThrownBy(() -> DaemonProtocol.requirePrivate(dir.resolve("daemon.sock")))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageEndingWith("has permissions rwxr-xr-x, expected rwx------");
+        }
+    }
+
+    @Test
+    void rejectsASocketOthersCanConnectTo() throws IOException {
+        Path dir = directory("rwx------");
+        Path socket = dir.resolve("daemon.sock");
+        try (ServerSocketChannel server = listen(socket)) {
+            Files.setPosixFilePermissions(socket, PosixFilePermissions.fromString("rw-rw-rw-"));
+
+            assertThatThrownBy(() -> DaemonProtocol.requirePrivate(socket))
+                    .hasMessageEndingWith("has permissions rw-rw-rw-, expected rw-------");
+        }
+    }
+
+    @Test
+    void rejectsASocketOwnedBySomeoneElse() throws IOException {
+        assumeTrue("root".equals(System.getProperty("user.name")), "only root can give a file away");
+        Path dir = directory("rwx------");
+        Path socket = dir.resolve("daemon.sock");
+        try (ServerSocketChannel server = listen(socket)) {
+            UserPrincipal nobody = socket.getFileSystem().getUserPrincipalLookupService().lookupPrincipalByName("nobody");
+            Files.setOwner(socket, nobody);
+
+            assertThatThrownBy(() -> DaemonProtocol.requirePrivate(socket))
+                    .hasMessageContaining("is owned by nobody, not root");
+        }
+    }
+
+    @Test
+    void requestsRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] stdin = "octocat\nhubot\n".getBytes(StandardCharsets.UTF_8);
+        DaemonProtocol.writeRequest(new DataOutputStream(bytes), new String[]{"--users-file", "-", "--limit", "ß"}, stdin);
+
+        DaemonProtocol.Request req = DaemonProtocol.readRequest(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(req.args()).containsExactly("--users-file", "-", "--limit", "ß");
+        assertThat(req.stdin()).isEqualTo(stdin);
+    }
+
+    @Test
+    void rejectsOversizedRequests() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(DaemonProtocol.VERSION);
+        out.writeInt(DaemonProtocol.MAX_ARGS + 1);
+
+        assertThatThrownBy(() -> DaemonProtocol.readRequest(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))))
+                .isInstanceOf(IOException.class)
+                .hasMessage("bad argument count " + (DaemonProtocol.MAX_ARGS + 1));
+    }
+
+    private Path directory(String perms) throws IOException {
+        Path dir = Files.createDirectory(tmp.resolve("run"));
+        Files.setPosixFilePermissions(dir, PosixFilePermissions.fromString(perms));
+        return dir;
+    }
+
+    private static ServerSocketChannel listen(Path socket) throws IOException {
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socket));
+        Files.setPosixFilePermissions(socket, PosixFilePermissions.fromString("rw-------"));
+        return server;
+    }
+}
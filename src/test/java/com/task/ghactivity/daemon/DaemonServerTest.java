@@ -0,0 +1,117 @@
+package com.task.ghactivity.daemon;
+
+import com.task.ghactivity.GhCliRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Drives a {@link DaemonServer} over its socket the way {@code GhActivityClient} does. */
+class DaemonServerTest {
+
+    private record Reply(int code, String out, String err) {}
+
+    @TempDir
+    Path tmp;
+
+    @Test
+    void streamsOutputAndTheExitCode() throws Exception {
+        Path socket = serve((args, stdin, out, err) -> {
+            out.print(String.join(" ", args) + " " + new String(stdin.readAllBytes(), StandardCharsets.UTF_8));
+            err.print("warned");
+            return 7;
+        });
+
+        Reply reply = send(socket, "--users-file", "-");
+
+        assertThat(reply).isEqualTo(new Reply(7, "--users-file - stdin", "warned"));
+    }
+
+    @Test
+    void runsGhCliRunnerInvocations() throws Exception {
+        Path socket = serve(new GhCliRunner()::execute);
+
+        Reply reply = send(socket, "octocat", "--limit", "abc");
+
+        assertThat(reply.code()).isEqualTo(64);
+        assertThat(reply.err()).contains("--limit takes a number, not 'abc'");
+        assertThat(reply.out()).startsWith("GitHub Activity CLI");
+    }
+
+    @Test
+    void aClientHangingUpInterruptsItsInvocation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Path socket = serve((args, stdin, out, err) -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return 0;
+        });
+
+        try (SocketChannel ch = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            DaemonProtocol.writeRequest(new DataOutputStream(Channels.newOutputStream(ch)), new String[]{"--watch"}, new byte[0]);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /** Starts a daemon on a fresh socket; it serves until the test JVM exits. */
+    private Path serve(DaemonServer.Command command) throws InterruptedException {
+        Path socket = tmp.resolve("run").resolve("daemon.sock");
+        PrintStream log = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+        Thread.ofVirtual().start(() -> {
+            try {
+                new DaemonServer(socket, command).serve(log);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+        for (int i = 0; i < 500 && !Files.exists(socket); i++) Thread.sleep(10);
+        assertThat(socket).exists();
+        return socket;
+    }
+
+    private static Reply send(Path socket, String... args) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        try (SocketChannel ch = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            DaemonProtocol.writeRequest(new DataOutputStream(Channels.newOutputStream(ch)), args,
+                    "stdin".getBytes(StandardCharsets.UTF_8));
+            DataInputStream in = new DataInputStream(Channels.newInputStream(ch));
+            while (true) {
+                byte kind = in.readByte();
+                byte[] data = in.readNBytes(in.readInt());
+                switch (kind) {
+                    case DaemonProtocol.STDOUT -> out.write(data);
+                    case DaemonProtocol.STDERR -> err.write(data);
+                    case DaemonProtocol.EXIT -> {
+                        return new Reply(ByteBuffer.wrap(data).getInt(),
+                                out.toString(StandardCharsets.UTF_8), err.toString(StandardCharsets.UTF_8));
+                    }
+                    default -> throw new IOException("unknown frame " + kind);
+                }
+            }
+        }
+    }
+}
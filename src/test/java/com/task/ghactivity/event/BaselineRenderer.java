@@ -0,0 +1,152 @@
+package com.task.ghactivity.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.task.ghactivity.util.Ansi;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+
+/**
+ * The original CLI's {@code describeEvent}, unchanged: {@code readTree} output
+ * rendered by string concatenation. Tests hold the streaming
+ * {@link EventReader} and the formatter registry to its output.
+ */
+final class BaselineRenderer {
+
+    private static final DateTimeFormatter TS_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm 'UTC'").withZone(ZoneOffset.UTC);
+
+    private BaselineRenderer() {}
+
+    static String describeEvent(JsonNode ev, boolean useColor) {
+        String type = text(ev, "type").orElse("Event");
+        String repo = ev.has("repo") && ev.get("repo").has("name") ? ev.get("repo").get("name").asText() : "unknown/repo";
+        String created = text(ev, "created_at").map(ts -> {
+            try { return TS_FMT.format(Instant.parse(ts)); } catch (Exception e) { return ts; }
+        }).orElse("");
+
+        JsonNode payload = ev.has("payload") ? ev.get("payload") : null;
+
+        switch (type) {
+            case "PushEvent" -> {
+                int commits = 0;
+                if (payload != null && payload.has("commits") && payload.get("commits").isArray()) {
+                    commits = payload.get("commits").size();
+                }
+                return "- Pushed " + color(String.valueOf(commits), Ansi.CYAN, useColor)
+                        + " commit" + (commits == 1 ? "" : "s") + " to "
+                        + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "IssuesEvent" -> {
+                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "acted on";
+                String num = payload != null && payload.has("issue") && payload.get("issue").has("number")
+                        ? "#" + payload.get("issue").get("number").asText() : "#?";
+                return "- " + cap(action) + " issue " + color(num, Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "IssueCommentEvent" -> {
+                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "commented";
+                String num = payload != null && payload.has("issue") && payload.get("issue").has("number")
+                        ? "#" + payload.get("issue").get("number").asText() : "#?";
+                return "- " + cap(action) + " on issue " + color(num, Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "PullRequestEvent" -> {
+                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "acted on";
+                boolean merged = payload != null && payload.has("pull_request")
+                        && payload.get("pull_request").has("merged") && payload.get("pull_request").get("merged").asBoolean(false);
+                String num = payload != null && payload.has("pull_request") && payload.get("pull_request").has("number")
+                        ? "#" + payload.get("pull_request").get("number").asText() : "#?";
+                if (merged && "closed".equals(action)) action = "merged";
+                return "- " + cap(action) + " pull request " + color(num, Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "PullRequestReviewEvent" -> {
+                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "reviewed";
+                String num = payload != null && payload.has("pull_request") && payload.get("pull_request").has("number")
+                        ? "#" + payload.get("pull_request").get("number").asText() : "#?";
+                return "- " + cap(action) + " PR " + color(num, Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "PullRequestReviewCommentEvent" -> {
+                String num = payload != null && payload.has("pull_request") && payload.get("pull_request").has("number")
+                        ? "#" + payload.get("pull_request").get("number").asText() : "#?";
+                return "- Commented on PR " + color(num, Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "WatchEvent" -> {
+                return "- Starred " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "CreateEvent" -> {
+                String refType = payload != null && payload.has("ref_type") ? payload.get("ref_type").asText() : "thing";
+                String ref = payload != null && payload.has("ref") && !payload.get("ref").isNull()
+                        ? payload.get("ref").asText() : repo;
+                return "- Created " + color(refType, Ansi.GREEN, useColor) + " "
+                        + color(ref, Ansi.BOLD, useColor) + " in " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "DeleteEvent" -> {
+                String refType = payload != null && payload.has("ref_type") ? payload.get("ref_type").asText() : "thing";
+                String ref = payload != null && payload.has("ref") && !payload.get("ref").isNull()
+                        ? payload.get("ref").asText() : "";
+                String target = (refType + " " + ref).trim();
+                return "- Deleted " + color(target, Ansi.YELLOW, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "ForkEvent" -> {
+                String forkee = payload != null && payload.has("forkee") && payload.get("forkee").has("full_name")
+                        ? payload.get("forkee").get("full_name").asText() : "a fork";
+                return "- Forked " + color(repo, Ansi.BOLD, useColor) + " to "
+                        + color(forkee, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "ReleaseEvent" -> {
+                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "published";
+                String tag = payload != null && payload.has("release") && payload.get("release").has("tag_name")
+                        ? payload.get("release").get("tag_name").asText() : "a release";
+                return "- " + cap(action) + " " + color(tag, Ansi.CYAN, useColor) + " in "
+                        + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "PublicEvent" -> {
+                return "- Open-sourced " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "MemberEvent" -> {
+                String action = payload != null && payload.has("action") ? payload.get("action").asText() : "changed";
+                String member = payload != null && payload.has("member") && payload.get("member").has("login")
+                        ? payload.get("member").get("login").asText() : "a member";
+                return "- " + cap(action) + " collaborator " + color(member, Ansi.CYAN, useColor)
+                        + " in " + color(repo, Ansi.BOLD, useColor) + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "GollumEvent" -> {
+                return "- Updated wiki in " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            case "CommitCommentEvent" -> {
+                return "- Commented on a commit in " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+            default -> {
+                return "- " + type + " in " + color(repo, Ansi.BOLD, useColor)
+                        + " (" + color(created, Ansi.DIM, useColor) + ")";
+            }
+        }
+    }
+
+    private static Optional<String> text(JsonNode node, String field) {
+        if (node != null && node.has(field) && !node.get(field).isNull()) {
+            return Optional.of(node.get(field).asText());
+        }
+        return Optional.empty();
+    }
+
+    private static String color(String s, String ansi, boolean useColor) {
+        return useColor ? (ansi + s + Ansi.RESET) : s;
+    }
+
+    private static String cap(String s) {
+        if (s == null || s.isEmpty()) return s;
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+}
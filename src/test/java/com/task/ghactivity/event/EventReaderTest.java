@@ -0,0 +1,235 @@
+package com.task.ghactivity.event;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task.ghactivity.render.EventRenderer;
+import com.task.ghactivity.stub.GitHubStub;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link EventReader} must bind the same record whatever order GitHub sends the
+ * fields in, and fall back cleanly on missing, null and unexpected values. With
+ * {@link EventRenderer} it must print what the original {@code readTree}
+ * renderer ({@link BaselineRenderer}) printed, byte for byte, with and without
+ * color.
+ */
+class EventReaderTest {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Payloads the recorded feed does not have: odd field order, missing and null fields, unknown types. */
+    private static final String EDGE_CASES = """
+            [
+              {"payload": {"action": "closed", "pull_request": {"merged": true, "number": 9}},
+               "created_at": "2024-01-02T03:04:05Z", "repo": {"name": "a/b"}, "type": "PullRequestEvent", "id": "1"},
+              {"id": "2", "type": "PullRequestEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"action": "closed", "pull_request": {"number": 10, "merged": false}}},
+              {"id": "3", "type": "PullRequestEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"action": "opened", "pull_request": {"title": "no number"}}},
+              {"id": "4", "type": "CreateEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"ref_type": "repository", "ref": null}},
+              {"id": "5", "type": "DeleteEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"ref_type": "branch"}},
+              {"id": "6", "type": "DeleteEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"ref": "gone", "ref_type": "tag"}},
+              {"id": "7", "type": "IssuesEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z"},
+              {"id": "8", "type": "IssueCommentEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"action": "created", "issue": {"number": 3, "comments": [{"x": 1}]}}},
+              {"id": "9", "type": "SponsorshipEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"action": "created", "sponsorship": {"tier": "gold"}}},
+              {"id": "10", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z"},
+              {"id": "11", "type": "WatchEvent", "created_at": "2024-01-02T03:04:05Z"},
+              {"id": "12", "type": "WatchEvent", "repo": {"name": "a/b"}},
+              {"id": "13", "type": "WatchEvent", "repo": {"name": "a/b"}, "created_at": "yesterday"},
+              {"id": "14", "type": "ReleaseEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"action": "published", "release": {"tag_name": "v1.0-ß🚀"}}},
+              {"id": "15", "type": "ReleaseEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {}},
+              {"id": "16", "type": "MemberEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"action": "added", "member": {"login": "hubot"}}},
+              {"id": "17", "type": "ForkEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"forkee": {"id": 1, "full_name": "c/b"}}},
+              {"id": "18", "type": "PushEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"commits": [{"sha": "a1"}]}},
+              {"id": "19", "type": "PushEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"size": 0}},
+              {"id": "20", "type": "PullRequestReviewEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"action": "created", "review": {"state": "approved"}, "pull_request": {"number": 4}}},
+              {"id": "21", "type": "PullRequestReviewCommentEvent", "repo": {"name": "a/b"},
+               "created_at": "2024-01-02T03:04:05Z", "payload": {"pull_request": {"number": 5}}},
+              {"id": "22", "type": "GollumEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+               "payload": {"pages": [{"page_name": "Home"}]}},
+              {"id": "23", "type": "CommitCommentEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z"},
+              {"id": "24", "type": "PublicEvent", "repo": {"name": "%s"}, "created_at": "2024-01-02T03:04:05Z"}
+            ]
+            """.formatted("a/" + "long-repository-name-".repeat(20));
+
+    @Test
+    void bindsPayloadFieldsInAnyOrder() throws IOException {
+        List<GhEvent> events = read("""
+                [
+                  {"payload": {"action": "closed", "pull_request": {"merged": true, "number": 9}},
+                   "created_at": "2024-01-02T03:04:05Z", "repo": {"name": "a/b"}, "type": "PullRequestEvent", "id": "1"},
+                  {"id": "2", "type": "PullRequestEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+                   "payload": {"action": "closed", "pull_request": {"number": 10, "merged": false}}},
+                  {"id": "3", "type": "PullRequestReviewEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+                   "payload": {"action": "created", "review": {"state": "approved"}, "pull_request": {"number": 4}}}
+                ]
+                """);
+
+        assertThat(events).containsExactly(
+                new GhEvent.PullRequestEvent("1", "a/b", "2024-01-02T03:04:05Z", "closed", "9", true),
+                new GhEvent.PullRequestEvent("2", "a/b", "2024-01-02T03:04:05Z", "closed", "10", false),
+                new GhEvent.PullRequestReviewEvent("3", "a/b", "2024-01-02T03:04:05Z", "created", "4"));
+    }
+
+    @Test
+    void leavesMissingAndNullFieldsToTheRenderer() throws IOException {
+        List<GhEvent> events = read("""
+                [
+                  {"id": "1", "type": "CreateEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+                   "payload": {"ref_type": "repository", "ref": null}},
+                  {"id": "2", "type": "IssuesEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z"},
+                  {"id": "3", "type": "ReleaseEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+                   "payload": {}},
+                  {"id": "4", "type": "WatchEvent"},
+                  {"id": "5", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z"}
+                ]
+                """);
+
+        assertThat(events).containsExactly(
+                new GhEvent.CreateEvent("1", "a/b", "2024-01-02T03:04:05Z", "repository", null),
+                new GhEvent.IssuesEvent("2", "a/b", "2024-01-02T03:04:05Z", null, null),
+                new GhEvent.ReleaseEvent("3", "a/b", "2024-01-02T03:04:05Z", null, null),
+                new GhEvent.WatchEvent("4", "unknown/repo", ""),
+                new GhEvent.OtherEvent("5", "Event", "a/b", "2024-01-02T03:04:05Z", Map.of()));
+    }
+
+    @Test
+    void skipsEverythingTheRendererDoesNotUse() throws IOException {
+        List<GhEvent> events = read("""
+                [
+                  {"id": "1", "type": "PushEvent", "actor": {"login": "x", "urls": [1, 2]}, "repo": {"name": "a/b", "id": 7},
+                   "created_at": "2024-01-02T03:04:05Z", "payload": {"size": 2, "commits": [{"sha": "a1"}, {"sha": "b2"}]}},
+                  {"id": "2", "type": "PushEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+                   "payload": {"commits": 3}},
+                  {"id": "3", "type": "IssueCommentEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+                   "payload": {"action": "created", "issue": {"comments": [{"number": 1}], "number": 3}}},
+                  {"id": "4", "type": "ForkEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+                   "payload": {"forkee": {"id": 1, "owner": {"full_name": "nope"}, "full_name": "c/b"}}},
+                  {"id": "5", "type": "SponsorshipEvent", "repo": {"name": "a/b"}, "created_at": "2024-01-02T03:04:05Z",
+                   "payload": {"action": "created", "sponsorship": {"tier": "gold"}}}
+                ]
+                """);
+
+        assertThat(events).containsExactly(
+                new GhEvent.PushEvent("1", "a/b", "2024-01-02T03:04:05Z", 2),
+                new GhEvent.PushEvent("2", "a/b", "2024-01-02T03:04:05Z", 0),
+                new GhEvent.IssueCommentEvent("3", "a/b", "2024-01-02T03:04:05Z", "created", "3"),
+                new GhEvent.ForkEvent("4", "a/b", "2024-01-02T03:04:05Z", "c/b"),
+                new GhEvent.OtherEvent("5", "SponsorshipEvent", "a/b", "2024-01-02T03:04:05Z",
+                        Map.of("action", "created", "sponsorship.tier", "gold")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void recordedEventsRenderLikeTheBaseline(boolean useColor) throws IOException {
+        byte[] page;
+        try (InputStream in = EventReaderTest.class.getResourceAsStream("/stub/users/octocat/events")) {
+            page = in.readAllBytes();
+        }
+        assertSameOutput(page, useColor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void syntheticFeedRendersLikeTheBaseline(boolean useColor) throws IOException {
+        assertSameOutput(GitHubStub.syntheticEvents(0, 300), useColor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void edgeCasesRenderLikeTheBaseline(boolean useColor) throws IOException {
+        assertSameOutput(EDGE_CASES.getBytes(StandardCharsets.UTF_8), useColor);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void unmodeledTypesKeepTheFieldsModeledTypesUse(boolean typeFirst) throws IOException {
+        String payload = """
+                "payload": {"action": "created", "issue": {"number": 3, "labels": []}, "pull_request": {"number": 4, "merged": true},
+                            "release": {"tag_name": "v1"}, "member": {"login": "hubot"}, "forkee": {"full_name": "c/b"},
+                            "commits": 2, "ref": null}""";
+        String type = "\"type\": \"SponsorshipEvent\"";
+        String json = "{\"id\": \"1\", " + (typeFirst ? type + ", " + payload : payload + ", " + type) + "}";
+
+        GhEvent ev;
+        try (JsonParser p = JSON.createParser(json)) {
+            p.nextToken();
+            ev = new EventReader().read(p);
+        }
+
+        assertThat(ev).isInstanceOfSatisfying(GhEvent.OtherEvent.class, other -> assertThat(other.payload())
+                .containsExactlyInAnyOrderEntriesOf(Map.of(
+                        "action", "created", "issue.number", "3", "pull_request.number", "4",
+                        "pull_request.merged", "true", "release.tag_name", "v1", "member.login", "hubot",
+                        "forkee.full_name", "c/b", "commits", "2")));
+    }
+
+    private static List<GhEvent> read(String page) throws IOException {
+        List<GhEvent> events = new ArrayList<>();
+        EventReader reader = new EventReader();
+        try (JsonParser p = JSON.createParser(page)) {
+            assertThat(p.nextToken()).isEqualTo(JsonToken.START_ARRAY);
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                events.add(reader.read(p));
+            }
+            assertThat(p.currentToken()).isEqualTo(JsonToken.END_ARRAY);
+        }
+        return events;
+    }
+
+    private static void assertSameOutput(byte[] page, boolean useColor) throws IOException {
+        List<String> baseline = new ArrayList<>();
+        for (JsonNode ev : MAPPER.readTree(page)) {
+            baseline.add(BaselineRenderer.describeEvent(ev, useColor));
+        }
+        assertThat(baseline).isNotEmpty();
+
+        EventRenderer renderer = new EventRenderer(useColor);
+        EventReader reader = new EventReader();
+        List<String> described = new ArrayList<>();
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        try (JsonParser p = JSON.createParser(page);
+             PrintStream out = new PrintStream(printed, false, StandardCharsets.UTF_8)) {
+            assertThat(p.nextToken()).isEqualTo(JsonToken.START_ARRAY);
+            while (p.nextToken() == JsonToken.START_OBJECT) {
+                GhEvent ev = reader.read(p);
+                described.add(renderer.describe(ev));
+                renderer.println(ev, out);
+            }
+        }
+
+        assertThat(described).containsExactlyElementsOf(baseline);
+        StringBuilder expected = new StringBuilder();
+        for (String line : baseline) expected.append(line).append(System.lineSeparator());
+        assertThat(printed.toByteArray()).isEqualTo(expected.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,73 @@
+package com.task.ghactivity.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionGateTest {
+
+    private static final Duration LONG = Duration.ofSeconds(30);
+
+    @Test
+    void othersWaitForTheFirstResponse() throws Exception {
+        ConnectionGate gate = new ConnectionGate();
+        gate.await(LONG); // the leader goes ahead
+
+        CompletableFuture<Void> waiter = awaitAsync(gate);
+        Thread.sleep(100);
+        assertThat(waiter).isNotDone();
+
+        gate.connected();
+        waiter.get(5, TimeUnit.SECONDS);
+        assertReturnsAtOnce(gate);
+    }
+
+    @Test
+    void aFailedSendReleasesTheWaiters() throws Exception {
+        ConnectionGate gate = new ConnectionGate();
+        gate.await(LONG);
+        CompletableFuture<Void> waiter = awaitAsync(gate);
+        Thread.sleep(100);
+
+        gate.failed();
+        waiter.get(5, TimeUnit.SECONDS);
+        assertReturnsAtOnce(gate); // the next caller leads
+        CompletableFuture<Void> next = awaitAsync(gate);
+        Thread.sleep(100);
+        assertThat(next).isNotDone();
+        gate.connected();
+        next.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void waitersGiveUpAfterTheirTimeout() throws Exception {
+        ConnectionGate gate = new ConnectionGate();
+        gate.await(LONG);
+
+        long start = System.nanoTime();
+        gate.await(Duration.ofMillis(200));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isBetween(Duration.ofMillis(150), Duration.ofSeconds(5));
+    }
+
+    private static CompletableFuture<Void> awaitAsync(ConnectionGate gate) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                gate.await(LONG);
+                done.complete(null);
+            } catch (InterruptedException e) {
+                done.completeExceptionally(e);
+            }
+        });
+        return done;
+    }
+
+    private static void assertReturnsAtOnce(ConnectionGate gate) throws Exception {
+        awaitAsync(gate).get(1, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,77 @@
+package com.task.ghactivity.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentDecodingTest {
+
+    private static final byte[] PAGE = ("[" + String.join(",", Collections.nCopies(100,
+            "{\"id\": \"1\", \"type\": \"WatchEvent\", \"repo\": {\"name\": \"octocat/Hello-World\"}}")) + "]")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void decodesGzip() throws IOException {
+        byte[] wire = compress(PAGE, GZIPOutputStream::new);
+        TransferStats stats = new TransferStats();
+
+        assertThat(read(ContentDecoding.decode(encoding("gzip"), new ByteArrayInputStream(wire), stats))).isEqualTo(PAGE);
+        assertThat(stats.wireBytes()).isEqualTo(wire.length);
+        assertThat(stats.bodyBytes()).isEqualTo(PAGE.length);
+        assertThat(stats.summary()).contains("uncompressed");
+    }
+
+    @Test
+    void decodesDeflate() throws IOException {
+        byte[] wire = compress(PAGE, DeflaterOutputStream::new);
+        TransferStats stats = new TransferStats();
+
+        assertThat(read(ContentDecoding.decode(encoding("Deflate "), new ByteArrayInputStream(wire), stats))).isEqualTo(PAGE);
+        assertThat(stats.wireBytes()).isEqualTo(wire.length);
+    }
+
+    @Test
+    void passesIdentityAndUnknownEncodingsThrough() throws IOException {
+        TransferStats stats = new TransferStats();
+
+        assertThat(read(ContentDecoding.decode(HttpHeaders.of(Map.of(), (k, v) -> true), new ByteArrayInputStream(PAGE), stats)))
+                .isEqualTo(PAGE);
+        assertThat(read(ContentDecoding.decode(encoding("br"), new ByteArrayInputStream(PAGE), stats))).isEqualTo(PAGE);
+        assertThat(stats.wireBytes()).isEqualTo(stats.bodyBytes()).isEqualTo(2L * PAGE.length);
+    }
+
+    private interface Compressor {
+        OutputStream wrap(OutputStream out) throws IOException;
+    }
+
+    private static byte[] compress(byte[] data, Compressor compressor) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream out = compressor.wrap(bos)) {
+            out.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] read(InputStream in) throws IOException {
+        try (in) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static HttpHeaders encoding(String value) {
+        return HttpHeaders.of(Map.of("Content-Encoding", List.of(value)), (k, v) -> true);
+    }
+}
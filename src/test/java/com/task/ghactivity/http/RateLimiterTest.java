@@ -0,0 +1,130 @@
+package com.task.ghactivity.http;
+
+import com.task.ghactivity.util.Deadline;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private static final String TOKEN = "t";
+
+    @Test
+    void unknownQuotaNeverWaits() throws Exception {
+        RateLimiter limiter = new RateLimiter();
+
+        limiter.acquire(TOKEN, Deadline.NONE, Duration.ZERO);
+
+        assertThat(limiter.remaining(TOKEN)).isEqualTo(-1);
+    }
+
+    @Test
+    void exhaustedQuotaFailsWhenTheResetIsTooFarAway() {
+        RateLimiter limiter = new RateLimiter();
+        long reset = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+        limiter.update(TOKEN, quota(60, 0, reset), 403);
+
+        assertThatThrownBy(() -> limiter.acquire(TOKEN, Deadline.NONE, Duration.ofSeconds(5)))
+                .isInstanceOfSatisfying(RateLimiter.RateLimitedException.class,
+                        e -> assertThat(e.reset()).isEqualTo(Instant.ofEpochSecond(reset)));
+    }
+
+    @Test
+    void exhaustedQuotaFailsWhenTheResetIsPastTheDeadline() {
+        RateLimiter limiter = new RateLimiter();
+        limiter.update(TOKEN, quota(60, 0, Instant.now().plusSeconds(30).getEpochSecond()), 403);
+
+        assertThatThrownBy(() -> limiter.acquire(TOKEN, Deadline.after(Duration.ofSeconds(1)), Duration.ofMinutes(5)))
+                .isInstanceOf(RateLimiter.RateLimitedException.class);
+    }
+
+    @Test
+    void quotaRefillsOnceTheResetHasPassed() throws Exception {
+        RateLimiter limiter = new RateLimiter();
+        limiter.update(TOKEN, quota(60, 0, Instant.now().minusSeconds(1).getEpochSecond()), 403);
+
+        long start = System.nanoTime();
+        limiter.acquire(TOKEN, Deadline.NONE, Duration.ZERO);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+        assertThat(limiter.remaining(TOKEN)).isEqualTo(59);
+    }
+
+    @Test
+    void keepsTheLowestCountWithinAWindow() {
+        RateLimiter limiter = new RateLimiter();
+        long reset = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+
+        limiter.update(TOKEN, quota(5000, 4990, reset), 200);
+        limiter.update(TOKEN, quota(5000, 4995, reset), 200); // an older response, arriving late
+        assertThat(limiter.remaining(TOKEN)).isEqualTo(4990);
+
+        limiter.update(TOKEN, quota(5000, 4999, reset + 3600), 200); // a new window
+        assertThat(limiter.remaining(TOKEN)).isEqualTo(4999);
+    }
+
+    @Test
+    void notModifiedResponsesAreFree() throws Exception {
+        RateLimiter limiter = new RateLimiter();
+        long reset = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+        limiter.update(TOKEN, quota(5000, 4990, reset), 200);
+
+        limiter.acquire(TOKEN, Deadline.NONE, Duration.ZERO);
+        assertThat(limiter.remaining(TOKEN)).isEqualTo(4989);
+        limiter.update(TOKEN, quota(5000, 4990, reset), 304);
+        assertThat(limiter.remaining(TOKEN)).isEqualTo(4990);
+    }
+
+    @Test
+    void tokensHaveTheirOwnQuota() {
+        RateLimiter limiter = new RateLimiter();
+        limiter.update(TOKEN, quota(5000, 10, Instant.now().plusSeconds(60).getEpochSecond()), 200);
+
+        assertThat(limiter.remaining("other")).isEqualTo(-1);
+    }
+
+    @Test
+    void backoffFollowsRetryAfter() {
+        assertThat(RateLimiter.backoff(403, headers(Map.of("Retry-After", "7")))).isEqualTo(Duration.ofSeconds(7));
+        assertThat(RateLimiter.backoff(429, headers(Map.of("Retry-After", "0")))).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void backoffWaitsForTheResetWhenTheQuotaIsUsedUp() {
+        long reset = Instant.now().plusSeconds(30).getEpochSecond();
+
+        assertThat(RateLimiter.backoff(403, quota(60, 0, reset)))
+                .isBetween(Duration.ofSeconds(29), Duration.ofSeconds(32));
+    }
+
+    @Test
+    void noBackoffWhenNotRateLimited() {
+        long reset = Instant.now().plusSeconds(30).getEpochSecond();
+
+        assertThat(RateLimiter.backoff(403, quota(60, 12, reset))).isNull(); // a plain 403
+        assertThat(RateLimiter.backoff(200, headers(Map.of("Retry-After", "7")))).isNull();
+        assertThat(RateLimiter.backoff(429, headers(Map.of()))).isEqualTo(Duration.ofSeconds(60));
+    }
+
+    private static HttpHeaders quota(long limit, long remaining, long resetEpochSec) {
+        Map<String, String> h = new HashMap<>();
+        h.put("X-RateLimit-Limit", String.valueOf(limit));
+        h.put("X-RateLimit-Remaining", String.valueOf(remaining));
+        h.put("X-RateLimit-Reset", String.valueOf(resetEpochSec));
+        return headers(h);
+    }
+
+    private static HttpHeaders headers(Map<String, String> values) {
+        Map<String, List<String>> multi = new HashMap<>();
+        values.forEach((k, v) -> multi.put(k, List.of(v)));
+        return HttpHeaders.of(multi, (k, v) -> true);
+    }
+}
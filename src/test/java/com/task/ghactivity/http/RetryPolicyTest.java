@@ -0,0 +1,99 @@
+package com.task.ghactivity.http;
+
+import com.task.ghactivity.util.Deadline;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLHandshakeException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ProtocolException;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryPolicyTest {
+
+    @Test
+    void retriesGatewayAndUnavailableStatuses() {
+        assertThat(RetryPolicy.isRetryable(502)).isTrue();
+        assertThat(RetryPolicy.isRetryable(503)).isTrue();
+        assertThat(RetryPolicy.isRetryable(504)).isTrue();
+        assertThat(RetryPolicy.isRetryable(500)).isFalse();
+        assertThat(RetryPolicy.isRetryable(404)).isFalse();
+        assertThat(RetryPolicy.isRetryable(403)).isFalse();
+    }
+
+    @Test
+    void retriesConnectionFailures() {
+        assertThat(RetryPolicy.isRetryable(new ConnectException(), Deadline.NONE)).isTrue();
+        assertThat(RetryPolicy.isRetryable(new SocketException("Connection reset"), Deadline.NONE)).isTrue();
+        assertThat(RetryPolicy.isRetryable(new EOFException("EOF reached while reading"), Deadline.NONE)).isTrue();
+        assertThat(RetryPolicy.isRetryable(new IOException("HTTP/1.1 header parser received no bytes"), Deadline.NONE)).isTrue();
+        assertThat(RetryPolicy.isRetryable(new HttpConnectTimeoutException("connect timed out"), Deadline.NONE)).isTrue();
+    }
+
+    @Test
+    void timeoutsAreNotRetriedOnceTheBudgetIsGone() {
+        Deadline spent = Deadline.after(Duration.ZERO);
+
+        assertThat(RetryPolicy.isRetryable(new HttpTimeoutException("request timed out"), spent)).isFalse();
+    }
+
+    @Test
+    void failsFastOnErrorsARetryCannotFix() {
+        assertThat(RetryPolicy.isRetryable(new SSLHandshakeException("PKIX path building failed"), Deadline.NONE)).isFalse();
+        assertThat(RetryPolicy.isRetryable(new UnknownHostException("api.github.invalid"), Deadline.NONE)).isFalse();
+        assertThat(RetryPolicy.isRetryable(new ProtocolException("bad status line"), Deadline.NONE)).isFalse();
+        // java.net.http wraps the cause in a plain IOException
+        assertThat(RetryPolicy.isRetryable(new IOException("wrapped", new SSLHandshakeException("x")), Deadline.NONE)).isFalse();
+        ConnectException unresolved = new ConnectException();
+        unresolved.initCause(new UnknownHostException("api.github.invalid"));
+        assertThat(RetryPolicy.isRetryable(unresolved, Deadline.NONE)).isFalse();
+        assertThat(RetryPolicy.isRetryable(new RateLimiter.RateLimitedException("exhausted", null), Deadline.NONE)).isFalse();
+    }
+
+    @Test
+    void delaysGrowWithTheRetryAndStayBelowTheCap() {
+        for (int i = 0; i < 50; i++) {
+            RetryPolicy policy = new RetryPolicy(3);
+            assertThat(policy.nextDelay(0, Deadline.NONE)).isBetween(Duration.ZERO, RetryPolicy.BASE_DELAY);
+            assertThat(policy.nextDelay(2, Deadline.NONE)).isBetween(Duration.ZERO, RetryPolicy.BASE_DELAY.multipliedBy(4));
+        }
+        RetryPolicy policy = new RetryPolicy(100);
+        assertThat(policy.nextDelay(30, Deadline.NONE)).isLessThanOrEqualTo(RetryPolicy.MAX_DELAY);
+    }
+
+    @Test
+    void stopsAfterMaxRetries() {
+        RetryPolicy policy = new RetryPolicy(2);
+
+        assertThat(policy.nextDelay(1, Deadline.NONE)).isNotNull();
+        assertThat(policy.nextDelay(2, Deadline.NONE)).isNull();
+        assertThat(new RetryPolicy(0).nextDelay(0, Deadline.NONE)).isNull();
+    }
+
+    @Test
+    void neverSleepsPastTheDeadline() {
+        assertThat(new RetryPolicy(5).nextDelay(0, Deadline.after(Duration.ZERO))).isNull();
+    }
+
+    @Test
+    void runWideBudgetDrainsAndRefillsWithRequests() {
+        RetryPolicy policy = new RetryPolicy(10);
+        for (int i = 0; i < RetryPolicy.INITIAL_RETRIES; i++) {
+            assertThat(policy.nextDelay(0, Deadline.NONE)).as("retry %d", i).isNotNull();
+        }
+        assertThat(policy.nextDelay(0, Deadline.NONE)).isNull();
+
+        for (int i = 0; i < 9; i++) policy.recordRequest();
+        assertThat(policy.nextDelay(0, Deadline.NONE)).isNull();
+        policy.recordRequest(); // ten requests earn one retry
+        assertThat(policy.nextDelay(0, Deadline.NONE)).isNotNull();
+        assertThat(policy.nextDelay(0, Deadline.NONE)).isNull();
+    }
+}
@@ -0,0 +1,58 @@
+package com.task.ghactivity.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistogramTest {
+
+    @Test
+    void aValueOnABoundGoesToThatBucket() {
+        for (int i = 0; i < Histogram.BUCKETS; i++) {
+            long bound = Histogram.upperBound(i);
+            assertThat(Histogram.index(bound)).as("le=%d", bound).isEqualTo(i);
+            assertThat(Histogram.index(bound + 1)).as("le=%d plus 1 ns", bound).isEqualTo(i + 1);
+        }
+    }
+
+    @Test
+    void shortDurationsShareTheFirstBucket() {
+        assertThat(Histogram.index(0)).isZero();
+        assertThat(Histogram.index(1)).isZero();
+        assertThat(Histogram.index(1L << Histogram.MIN_EXP)).isZero();
+        assertThat(Histogram.index((1L << Histogram.MIN_EXP) + 1)).isEqualTo(1);
+    }
+
+    @Test
+    void theTopBucketEndsAtMaxExpAndLongerDurationsOverflow() {
+        int top = Histogram.BUCKETS - 1;
+
+        assertThat(Histogram.upperBound(top)).isEqualTo(1L << Histogram.MAX_EXP);
+        assertThat(Histogram.index(1L << Histogram.MAX_EXP)).isEqualTo(top);
+        assertThat(Histogram.index((1L << Histogram.MAX_EXP) + 1)).isEqualTo(Histogram.BUCKETS);
+        assertThat(Histogram.index(Long.MAX_VALUE)).isEqualTo(Histogram.BUCKETS);
+    }
+
+    @Test
+    void boundsGrowByAtMostAQuarter() {
+        for (int i = 2; i < Histogram.BUCKETS; i++) {
+            long lower = Histogram.upperBound(i - 1), upper = Histogram.upperBound(i);
+            assertThat(upper).isGreaterThan(lower).isLessThanOrEqualTo(lower + lower / 4);
+        }
+    }
+
+    @Test
+    void recordsCountsAndSum() {
+        Histogram h = new Histogram();
+        h.record(Histogram.upperBound(3));
+        h.record(Histogram.upperBound(3));
+        h.record(-5); // a clock hiccup counts as 0
+        h.record(1L << 40);
+
+        long[] counts = h.counts();
+        assertThat(counts[0]).isEqualTo(1);
+        assertThat(counts[3]).isEqualTo(2);
+        assertThat(counts[Histogram.BUCKETS]).isEqualTo(1);
+        assertThat(h.sumNanos()).isEqualTo(2 * Histogram.upperBound(3) + (1L << 40));
+    }
+}
@@ -0,0 +1,48 @@
+package com.task.ghactivity.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsTest {
+
+    @Test
+    void writesPrometheusTextFormat() {
+        Metrics metrics = new Metrics();
+        long bound = Histogram.upperBound(1); // 1.28 µs
+        metrics.fetched("events", 200, bound);
+        metrics.fetched("events", 304, 1L << 40); // past the top bucket
+        metrics.fetched("events", 0, bound);
+        metrics.parsed("a\"b", bound);
+        metrics.retried();
+        metrics.rateLimitWait(Duration.ofMillis(1500));
+
+        StringBuilder sb = new StringBuilder();
+        metrics.writeTo(sb);
+        String text = sb.toString();
+
+        assertThat(text).contains(
+                "# HELP gh_activity_fetch_seconds Time from sending a GitHub API request to its response headers.\n"
+                        + "# TYPE gh_activity_fetch_seconds histogram\n"
+                        + "gh_activity_fetch_seconds_bucket{endpoint=\"events\",status=\"2xx\",le=\"1.024E-6\"} 0\n"
+                        + "gh_activity_fetch_seconds_bucket{endpoint=\"events\",status=\"2xx\",le=\"1.28E-6\"} 1\n",
+                "gh_activity_fetch_seconds_bucket{endpoint=\"events\",status=\"2xx\",le=\"+Inf\"} 1\n"
+                        + "gh_activity_fetch_seconds_sum{endpoint=\"events\",status=\"2xx\"} 1.28E-6\n"
+                        + "gh_activity_fetch_seconds_count{endpoint=\"events\",status=\"2xx\"} 1\n",
+                "gh_activity_fetch_seconds_bucket{endpoint=\"events\",status=\"3xx\",le=\"137.438953472\"} 0\n"
+                        + "gh_activity_fetch_seconds_bucket{endpoint=\"events\",status=\"3xx\",le=\"+Inf\"} 1\n",
+                "gh_activity_fetch_seconds_count{endpoint=\"events\",status=\"error\"} 1\n",
+                "gh_activity_parse_seconds_count{endpoint=\"a\\\"b\"} 1\n",
+                "# TYPE gh_activity_render_seconds histogram\n# HELP gh_activity_not_modified_total",
+                "gh_activity_not_modified_total{endpoint=\"events\"} 1\n",
+                "gh_activity_retries_total 1\n",
+                "gh_activity_rate_limit_waits_total 1\n",
+                "gh_activity_rate_limit_wait_seconds_total 1.5\n");
+        // the series are sorted by label values: 2xx, 3xx, error
+        assertThat(text.indexOf("status=\"2xx\"")).isLessThan(text.indexOf("status=\"3xx\""));
+        assertThat(text.indexOf("status=\"3xx\"")).isLessThan(text.indexOf("status=\"error\""));
+        assertThat(text).endsWith("\n").doesNotContain("\r");
+    }
+}
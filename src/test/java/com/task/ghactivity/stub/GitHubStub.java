@@ -0,0 +1,448 @@
+package com.task.ghactivity.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A local stand-in for GitHub's {@code GET /users/{user}/events}, for pointing
+ * the CLI ({@code --api-url}) and the benchmarks at a repeatable backend.
+ *
+ * <p>Users with a recorded response under {@code stub/users/{user}/events} on the
+ * class path get that; every other user gets a synthetic feed of
+ * {@link #events(int)} events built from the recorded ones, paged like GitHub
+ * ({@code per_page}, {@code page}, {@code Link}) with {@code ETag}/304,
+ * {@code X-Poll-Interval}, rate-limit headers and gzip when asked for.
+ * {@link #publish} adds events to the top of that feed; with {@link #slide} its
+ * later pages overlap, as when events arrive during paging.
+ *
+ * <p>Faults are injected by request number, counted across all users from 1:
+ * <ul>
+ *   <li>{@link #latency}: delay before the response headers;</li>
+ *   <li>{@link #drip}: the body written in small chunks with pauses between them;</li>
+ *   <li>{@link #rateLimit} / {@link #secondaryRateLimit}: every Nth request gets a
+ *       403 with GitHub's primary (quota used up) or secondary ({@code Retry-After})
+ *       headers;</li>
+ *   <li>{@link #serverErrors}: the first {@code burst} requests of every
+ *       {@code period} get a 503;</li>
+ *   <li>{@link #resets}: every Nth request has its connection dropped before any
+ *       response is sent.</li>
+ * </ul>
+ * Settings may be changed while the stub is running. Run {@link #main} for a
+ * standalone server; see {@link #usage()} for its flags.
+ */
+public final class GitHubStub implements AutoCloseable {
+
+    private static final Pattern EVENTS = Pattern.compile("/users/([^/]+)/events");
+    private static final int DEFAULT_PER_PAGE = 30;
+    /** GitHub stops paging after this many events. */
+    private static final int MAX_EVENTS = 300;
+    private static final int RATE_LIMIT = 5000;
+    private static final long NEWEST_ID = 50_000_000_000L;
+    private static final Instant NEWEST = Instant.parse("2024-05-01T12:00:00Z");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final AtomicLong requests = new AtomicLong();
+    private final Map<String, byte[]> syntheticPages = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> recorded = new ConcurrentHashMap<>();
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+    private volatile int events = MAX_EVENTS;
+    private volatile Duration latency = Duration.ZERO;
+    private volatile int dripChunk;
+    private volatile Duration dripPause = Duration.ZERO;
+    private volatile int rateLimitEvery;
+    private volatile Duration rateLimitWait = Duration.ofSeconds(1);
+    private volatile boolean secondary;
+    private volatile int errorBurst;
+    private volatile int errorPeriod;
+    private volatile int resetEvery;
+    private volatile int pollIntervalSec = 60;
+    private volatile int slide;
+    private volatile int published;
+
+    /** Binds {@code 127.0.0.1:port} (0 picks a free port) and starts serving. */
+    public GitHubStub(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /** The value for {@code --api-url}. */
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** Requests handled so far. */
+    public long requests() {
+        return requests.get();
+    }
+
+    /** Events in the synthetic feed, at most 300 like GitHub's. */
+    public GitHubStub events(int count) {
+        this.events = Math.min(count, MAX_EVENTS);
+        syntheticPages.clear();
+        return this;
+    }
+
+    /** Users answered with a 404, as GitHub does for unknown logins. */
+    public GitHubStub notFound(String... users) {
+        missing.addAll(Set.of(users));
+        return this;
+    }
+
+    public GitHubStub latency(Duration delay) {
+        this.latency = delay;
+        return this;
+    }
+
+    /** Writes bodies {@code chunk} bytes at a time, pausing {@code pause} after each; chunk 0 turns this off. */
+    public GitHubStub drip(int chunk, Duration pause) {
+        this.dripChunk = chunk;
+        this.dripPause = pause;
+        return this;
+    }
+
+    /** Every {@code everyNth} request is refused with the quota used up until {@code resetIn} from now. */
+    public GitHubStub rateLimit(int everyNth, Duration resetIn) {
+        this.rateLimitEvery = everyNth;
+        this.rateLimitWait = resetIn;
+        this.secondary = false;
+        return this;
+    }
+
+    /** Every {@code everyNth} request is refused with {@code Retry-After: retryAfter}. */
+    public GitHubStub secondaryRateLimit(int everyNth, Duration retryAfter) {
+        this.rateLimitEvery = everyNth;
+        this.rateLimitWait = retryAfter;
+        this.secondary = true;
+        return this;
+    }
+
+    /** The first {@code burst} requests of every {@code period} get a 503. */
+    public GitHubStub serverErrors(int burst, int period) {
+        this.errorBurst = burst;
+        this.errorPeriod = Math.max(period, 1);
+        return this;
+    }
+
+    /** Drops the connection of every {@code everyNth} request without answering. */
+    public GitHubStub resets(int everyNth) {
+        this.resetEvery = everyNth;
+        return this;
+    }
+
+    /** Puts {@code n} new events at the top of the synthetic feed, for {@code --watch} to find. */
+    public synchronized GitHubStub publish(int n) {
+        this.published += n;
+        return this;
+    }
+
+    /**
+     * Serves pages after the first as if {@code n} events had arrived since it
+     * was read: each starts {@code n} events earlier, repeating the end of the
+     * page before it.
+     */
+    public GitHubStub slide(int n) {
+        this.slide = n;
+        return this;
+    }
+
+    public GitHubStub pollInterval(int seconds) {
+        this.pollIntervalSec = seconds;
+        return this;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * Events {@code from} to {@code from + count} of the synthetic feed: the
+     * recorded octocat ones repeated, with ids counting down and a minute
+     * between events, newest first like the API. Negative positions are the
+     * events {@link #publish}ed since.
+     */
+    public static byte[] syntheticEvents(int from, int count) {
+        ArrayNode template;
+        try (InputStream in = resource("octocat")) {
+            template = (ArrayNode) MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ArrayNode page = MAPPER.createArrayNode();
+        for (int i = from; i < from + count; i++) {
+            ObjectNode ev = template.get(Math.floorMod(i, template.size())).deepCopy();
+            ev.put("id", String.valueOf(NEWEST_ID - i));
+            ev.put("created_at", NEWEST.minusSeconds(60L * i).toString());
+            page.add(ev);
+        }
+        try {
+            return MAPPER.writeValueAsBytes(page);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            long n = requests.incrementAndGet();
+            Matcher m = EVENTS.matcher(ex.getRequestURI().getPath());
+            if (!m.matches()) {
+                send(ex, 404, json("Not Found"));
+                return;
+            }
+            if (resetEvery > 0 && n % resetEvery == 0) {
+                return; // closing the exchange before the headers drops the connection
+            }
+            pause(latency);
+            if (errorBurst > 0 && (n - 1) % errorPeriod < errorBurst) {
+                send(ex, 503, json("Service Unavailable"));
+                return;
+            }
+            if (rateLimitEvery > 0 && n % rateLimitEvery == 0) {
+                refuse(ex);
+                return;
+            }
+            String user = m.group(1);
+            if (missing.contains(user)) {
+                send(ex, 404, json("Not Found"));
+                return;
+            }
+            events(ex, user);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void events(HttpExchange ex, String user) throws IOException, InterruptedException {
+        Map<String, String> query = query(ex.getRequestURI());
+        int perPage = Math.clamp(intParam(query, "per_page", DEFAULT_PER_PAGE), 1, 100);
+        int page = Math.max(1, intParam(query, "page", 1));
+
+        byte[] body = recordedEvents(user);
+        if (body == null) {
+            int total = events;
+            int lastPage = Math.max(1, (total + perPage - 1) / perPage);
+            body = page > lastPage ? "[]".getBytes(StandardCharsets.UTF_8) : syntheticPage(page, perPage, total);
+            if (page < lastPage) {
+                String base = url() + ex.getRequestURI().getPath() + "?per_page=" + perPage;
+                ex.getResponseHeaders().set("Link", "<" + base + "&page=" + (page + 1) + ">; rel=\"next\", <"
+                        + base + "&page=" + lastPage + ">; rel=\"last\"");
+            }
+        }
+
+        Headers h = ex.getResponseHeaders();
+        String etag = etag(body);
+        h.set("ETag", etag);
+        h.set("X-Poll-Interval", String.valueOf(pollIntervalSec));
+        quotaHeaders(h, RATE_LIMIT - 1, Duration.ofHours(1));
+        if (etag.equals(ex.getRequestHeaders().getFirst("If-None-Match"))) {
+            ex.sendResponseHeaders(304, -1);
+            return;
+        }
+        String accept = ex.getRequestHeaders().getFirst("Accept-Encoding");
+        if (accept != null && accept.contains("gzip")) {
+            body = gzip(body);
+            h.set("Content-Encoding", "gzip");
+        }
+        h.set("Content-Type", "application/json; charset=utf-8");
+        write(ex, 200, body);
+    }
+
+    /** A 403 carrying the headers of a primary or secondary rate limit. */
+    private void refuse(HttpExchange ex) throws IOException, InterruptedException {
+        Headers h = ex.getResponseHeaders();
+        if (secondary) {
+            h.set("Retry-After", String.valueOf(Math.max(1, rateLimitWait.toSeconds())));
+            quotaHeaders(h, RATE_LIMIT - 1, Duration.ofHours(1));
+            send(ex, 403, json("You have exceeded a secondary rate limit. Please wait a few minutes before you try again."));
+        } else {
+            quotaHeaders(h, 0, rateLimitWait);
+            send(ex, 403, json("API rate limit exceeded."));
+        }
+    }
+
+    private static void quotaHeaders(Headers h, int remaining, Duration resetIn) {
+        h.set("X-RateLimit-Limit", String.valueOf(RATE_LIMIT));
+        h.set("X-RateLimit-Remaining", String.valueOf(remaining));
+        h.set("X-RateLimit-Reset", String.valueOf(Instant.now().plus(resetIn).getEpochSecond()));
+    }
+
+    private void send(HttpExchange ex, int status, byte[] body) throws IOException, InterruptedException {
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        write(ex, status, body);
+    }
+
+    private void write(HttpExchange ex, int status, byte[] body) throws IOException, InterruptedException {
+        ex.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length == 0) return;
+        OutputStream os = ex.getResponseBody();
+        int chunk = dripChunk;
+        if (chunk <= 0) {
+            os.write(body);
+            return;
+        }
+        for (int off = 0; off < body.length; off += chunk) {
+            os.write(body, off, Math.min(chunk, body.length - off));
+            os.flush();
+            pause(dripPause);
+        }
+    }
+
+    private byte[] recordedEvents(String user) throws IOException {
+        byte[] body = recorded.get(user);
+        if (body != null) return body.length == 0 ? null : body;
+        try (InputStream in = resource(user)) {
+            body = in == null ? new byte[0] : in.readAllBytes();
+        }
+        recorded.put(user, body);
+        return body.length == 0 ? null : body;
+    }
+
+    private byte[] syntheticPage(int page, int perPage, int total) {
+        int from = Math.max(0, (page - 1) * perPage - (page > 1 ? slide : 0)) - published;
+        int count = Math.min(perPage, total - from);
+        return syntheticPages.computeIfAbsent(from + "/" + count,
+                k -> syntheticEvents(from, count));
+    }
+
+    private static InputStream resource(String user) {
+        return GitHubStub.class.getResourceAsStream("/stub/users/" + user + "/events");
+    }
+
+    private static byte[] json(String message) {
+        return ("{\"message\":\"" + message + "\",\"documentation_url\":\"https://docs.github.com/rest\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(bos)) {
+            gz.write(body);
+        }
+        return bos.toByteArray();
+    }
+
+    private static void pause(Duration d) throws InterruptedException {
+        if (d.isPositive()) Thread.sleep(d);
+    }
+
+    private static Map<String, String> query(URI uri) {
+        String raw = uri.getRawQuery();
+        if (raw == null || raw.isEmpty()) return Map.of();
+        Map<String, String> params = new HashMap<>();
+        for (String kv : raw.split("&")) {
+            int eq = kv.indexOf('=');
+            if (eq > 0) params.put(kv.substring(0, eq), kv.substring(eq + 1));
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int fallback) {
+        try {
+            return Integer.parseInt(query.getOrDefault(name, String.valueOf(fallback)));
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static String usage() {
+        return """
+                Usage: GitHubStub [options]
+                  --port N                   listen on 127.0.0.1:N (default 8765; 0 picks one)
+                  --events N                 events in the synthetic feed (default 300)
+                  --not-found USER           answer 404 for USER (repeatable)
+                  --latency MS               delay before each response
+                  --drip BYTES:MS            write bodies BYTES at a time, MS apart
+                  --rate-limit N:SEC         every Nth request: 403, quota used up for SEC
+                  --secondary-rate-limit N:SEC  every Nth request: 403 with Retry-After SEC
+                  --server-errors BURST:PERIOD  first BURST of every PERIOD requests: 503
+                  --reset N                  drop every Nth connection without answering
+                  --poll-interval SEC        X-Poll-Interval (default 60)
+                  --slide N                  later pages start N events early, as if N arrived""";
+    }
+
+    /** Runs the stub until killed, e.g. {@code java -cp target/test-classes:... com.task.ghactivity.stub.GitHubStub --latency 200}. */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = 8765;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--port") && i + 1 < args.length) port = Integer.parseInt(args[++i]);
+        }
+        GitHubStub stub = new GitHubStub(port);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String a = args[i];
+                if (i + 1 >= args.length) throw new IllegalArgumentException(a + " needs a value");
+                String v = args[++i];
+                switch (a) {
+                    case "--port" -> {}
+                    case "--events" -> stub.events(Integer.parseInt(v));
+                    case "--not-found" -> stub.notFound(v);
+                    case "--latency" -> stub.latency(Duration.ofMillis(Long.parseLong(v)));
+                    case "--drip" -> stub.drip(first(v), Duration.ofMillis(second(v)));
+                    case "--rate-limit" -> stub.rateLimit(first(v), Duration.ofSeconds(second(v)));
+                    case "--secondary-rate-limit" -> stub.secondaryRateLimit(first(v), Duration.ofSeconds(second(v)));
+                    case "--server-errors" -> stub.serverErrors(first(v), second(v));
+                    case "--reset" -> stub.resets(Integer.parseInt(v));
+                    case "--poll-interval" -> stub.pollInterval(Integer.parseInt(v));
+                    case "--slide" -> stub.slide(Integer.parseInt(v));
+                    default -> throw new IllegalArgumentException("Unknown option: " + a);
+                }
+            }
+        } catch (RuntimeException e) {
+            stub.close();
+            System.err.println(e.getMessage());
+            System.err.println(usage());
+            System.exit(64);
+        }
+        System.out.println("GitHub stub on " + stub.url());
+        Thread.currentThread().join();
+    }
+
+    private static int first(String pair) {
+        return Integer.parseInt(pair.substring(0, pair.indexOf(':')));
+    }
+
+    private static int second(String pair) {
+        return Integer.parseInt(pair.substring(pair.indexOf(':') + 1));
+    }
+}
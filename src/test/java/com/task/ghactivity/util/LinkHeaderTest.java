@@ -0,0 +1,65 @@
+package com.task.ghactivity.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LinkHeaderTest {
+
+    private static final String API = "https://api.github.com/user/583231/events";
+
+    @Test
+    void parsesEveryRel() {
+        String header = "<" + API + "?per_page=100&page=2>; rel=\"next\", <" + API + "?per_page=100&page=3>; rel=\"last\"";
+
+        assertThat(LinkHeader.parse(header))
+                .containsEntry("next", API + "?per_page=100&page=2")
+                .containsEntry("last", API + "?per_page=100&page=3")
+                .hasSize(2);
+    }
+
+    @Test
+    void blankHeaderHasNoLinks() {
+        assertThat(LinkHeader.parse(null)).isEmpty();
+        assertThat(LinkHeader.parse("  ")).isEmpty();
+        assertThat(LinkHeader.followingPages(null, 3)).isEmpty();
+    }
+
+    @Test
+    void followingPagesStopAtWhatWasWanted() {
+        String header = "<" + API + "?per_page=100&page=2>; rel=\"next\", <" + API + "?per_page=100&page=3>; rel=\"last\"";
+
+        assertThat(LinkHeader.followingPages(header, 2)).containsExactly(API + "?per_page=100&page=2");
+    }
+
+    @Test
+    void followingPagesStopAtTheLastPage() {
+        String header = "<" + API + "?per_page=100&page=2>; rel=\"next\", <" + API + "?per_page=100&page=3>; rel=\"last\"";
+
+        assertThat(LinkHeader.followingPages(header, 10))
+                .containsExactly(API + "?per_page=100&page=2", API + "?per_page=100&page=3");
+    }
+
+    @Test
+    void followingPagesKeepTheOtherQueryParameters() {
+        // page first, the rest after it, and no rel="last"
+        String header = "<" + API + "?page=2&per_page=100&token=x>; rel=\"next\", <" + API + "?page=1&per_page=100>; rel=\"first\"";
+
+        assertThat(LinkHeader.followingPages(header, 3))
+                .containsExactly(API + "?page=2&per_page=100&token=x", API + "?page=3&per_page=100&token=x");
+    }
+
+    @Test
+    void nextWithoutPageNumberIsFollowedAsIs() {
+        String header = "<" + API + "?cursor=abc>; rel=\"next\"";
+
+        assertThat(LinkHeader.followingPages(header, 3)).containsExactly(API + "?cursor=abc");
+    }
+
+    @Test
+    void lastPageHasNoFollowingPages() {
+        String header = "<" + API + "?per_page=100&page=2>; rel=\"prev\", <" + API + "?per_page=100&page=1>; rel=\"first\"";
+
+        assertThat(LinkHeader.followingPages(header, 3)).isEmpty();
+    }
+}